@@ -0,0 +1,28 @@
+package com.example.mrbs.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs JMH with JSON results written to jmh-result.json unless -rf/-rff are given, so runs
+ * from different releases can be compared.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            options.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
\ No newline at end of file
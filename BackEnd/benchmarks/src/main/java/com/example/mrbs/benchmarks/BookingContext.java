@@ -0,0 +1,107 @@
+package com.example.mrbs.benchmarks;
+
+import com.example.mrbs.MeetingBookingApplication;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.repository.UserRepository;
+import com.example.mrbs.service.ReservationOverlapIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The application booted without a web server on a private in-memory database, for
+ * benchmarks that need the real beans.
+ */
+public final class BookingContext implements AutoCloseable {
+
+    // Seeded reservations are 30 minutes long and start on the hour from here
+    public static final LocalDateTime FIRST_SLOT = LocalDate.now().plusDays(1).atTime(8, 0);
+
+    private final ConfigurableApplicationContext context;
+
+    private BookingContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static BookingContext start() {
+        // Command line arguments outrank the application.properties packaged with the app
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MeetingBookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench_" + UUID.randomUUID().toString().replace("-", "")
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.com.example=WARN");
+        return new BookingContext(context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public User seedUser(String email) {
+        User user = new User();
+        user.setName("Benchmark User");
+        user.setEmail(email);
+        user.setPassword("not-a-real-hash");
+        return bean(UserRepository.class).save(user);
+    }
+
+    public List<MeetingRoom> seedRooms(int count) {
+        List<MeetingRoom> rooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MeetingRoom room = new MeetingRoom();
+            room.setName("Benchmark Room " + i);
+            room.setLocation(MeetingRoom.RoomLocation.values()[i % MeetingRoom.RoomLocation.values().length]);
+            room.setCapacity(4 + i % 12);
+            rooms.add(room);
+        }
+        return bean(MeetingRoomRepository.class).saveAll(rooms);
+    }
+
+    /**
+     * Books {@code perRoom} half-hour slots, one per hour, in every room and rebuilds the
+     * overlap index from them.
+     */
+    public void seedReservations(User user, List<MeetingRoom> rooms, int perRoom) {
+        ReservationRepository reservations = bean(ReservationRepository.class);
+        List<Reservation> batch = new ArrayList<>();
+        for (MeetingRoom room : rooms) {
+            for (int i = 0; i < perRoom; i++) {
+                Reservation reservation = new Reservation();
+                reservation.setUser(user);
+                reservation.setRoom(room);
+                reservation.setTitle("Benchmark " + i);
+                reservation.setStartTime(FIRST_SLOT.plusHours(i));
+                reservation.setEndTime(FIRST_SLOT.plusHours(i).plusMinutes(30));
+                batch.add(reservation);
+                if (batch.size() == 1000) {
+                    reservations.saveAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        reservations.saveAll(batch);
+        bean(ReservationOverlapIndex.class).rebuild();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
\ No newline at end of file
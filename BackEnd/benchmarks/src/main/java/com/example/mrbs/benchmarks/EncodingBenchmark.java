@@ -0,0 +1,104 @@
+package com.example.mrbs.benchmarks;
+
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.User;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU per response encoding for a reservation list, with and without gzip. Bytes on
+ * the wire are printed once per trial, since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"json", "json-blackbird", "smile", "cbor"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<ReservationView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Configured like the application's mappers; the binary formats ship with Blackbird
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        builder.factory(factory);
+        if (!format.equals("json")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        ObjectMapper mapper = builder.build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ReservationView.class));
+
+        User user = new User(7L, "Encoding User", "encoding.user@jadeglobal.com", "not-a-real-hash",
+                User.UserRole.employee, LocalDateTime.now());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MeetingRoom room = new MeetingRoom((long) i % 40, "Room " + i % 40, RoomLocation.values()[i % 3], 4 + i % 12,
+                    MeetingRoom.RoomAvailability.Available, null, start.minusDays(30), 0);
+            views.add(ReservationView.of(new Reservation((long) i, user, room, "Meeting " + i,
+                    start.plusMinutes(30L * i), start.plusMinutes(30L * i + 25),
+                    Reservation.ReservationStatus.confirmed, null, start.minusDays(1))));
+        }
+
+        System.out.printf("%n%s, %d reservations: %d bytes, %d gzipped%n",
+                format, size, encode().length, encodeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, views);
+        }
+        return bytes.toByteArray();
+    }
+}
\ No newline at end of file
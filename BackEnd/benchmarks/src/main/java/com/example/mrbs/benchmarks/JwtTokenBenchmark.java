@@ -0,0 +1,65 @@
+package com.example.mrbs.benchmarks;
+
+import com.example.mrbs.config.JwtTokenProvider;
+import com.example.mrbs.config.UserPrincipal;
+import com.example.mrbs.config.VerifiedToken;
+import com.example.mrbs.model.User.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation at login and verification per request, with the verified-token cache and
+ * with a provider whose cache holds nothing so every call parses and checks the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private JwtTokenProvider provider;
+    private JwtTokenProvider uncachedProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        provider = new JwtTokenProvider(4096, new SimpleMeterRegistry());
+        uncachedProvider = new JwtTokenProvider(0, new SimpleMeterRegistry());
+
+        UserPrincipal principal = new UserPrincipal(42L, "jwt.benchmark@jadeglobal.com", UserRole.employee, null, null);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = provider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return provider.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedProvider.verify(token);
+    }
+}
\ No newline at end of file
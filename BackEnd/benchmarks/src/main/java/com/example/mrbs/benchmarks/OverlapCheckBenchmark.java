@@ -0,0 +1,79 @@
+package com.example.mrbs.benchmarks;
+
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.service.ReservationOverlapIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The booking-time overlap check: the SQL query against the in-memory overlap index, for a
+ * slot that is free and one that collides with an existing reservation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverlapCheckBenchmark {
+
+    @Param({"10", "1000"})
+    private int reservationsPerRoom;
+
+    @Param({"free", "taken"})
+    private String slot;
+
+    private BookingContext context;
+    private ReservationRepository repository;
+    private ReservationOverlapIndex index;
+    private Long roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BookingContext.start();
+        repository = context.bean(ReservationRepository.class);
+        index = context.bean(ReservationOverlapIndex.class);
+
+        List<MeetingRoom> rooms = context.seedRooms(20);
+        context.seedReservations(context.seedUser("overlap.benchmark@jadeglobal.com"), rooms, reservationsPerRoom);
+        roomId = rooms.get(rooms.size() / 2).getId();
+
+        // Middle of the seeded day: inside a booking, or in the gap between two
+        LocalDateTime hour = BookingContext.FIRST_SLOT.plusHours(reservationsPerRoom / 2);
+        startTime = "taken".equals(slot) ? hour.plusMinutes(10) : hour.plusMinutes(35);
+        endTime = startTime.plusMinutes(20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean repository() {
+        return repository.existsOverlappingReservation(roomId, startTime, endTime);
+    }
+
+    @Benchmark
+    public boolean index() {
+        return index.overlaps(roomId, startTime, endTime);
+    }
+}
\ No newline at end of file
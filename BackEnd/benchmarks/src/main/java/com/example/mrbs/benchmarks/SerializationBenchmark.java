@@ -0,0 +1,89 @@
+package com.example.mrbs.benchmarks;
+
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the payloads list endpoints return, with a mapper configured the
+ * way Spring Boot configures the one used for responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<MeetingRoom> rooms;
+    private List<Reservation> reservations;
+    private List<ReservationView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        User user = new User(7L, "Serialization User", "serialization.user@jadeglobal.com", "not-a-real-hash",
+                User.UserRole.employee, LocalDateTime.now());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        rooms = new ArrayList<>(size);
+        reservations = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MeetingRoom room = new MeetingRoom((long) i, "Room " + i, RoomLocation.values()[i % 3], 4 + i % 12,
+                    MeetingRoom.RoomAvailability.Available, null, start.minusDays(30), 0);
+            rooms.add(room);
+
+            Reservation reservation = new Reservation((long) i, user, room, "Meeting " + i,
+                    start.plusMinutes(30L * i), start.plusMinutes(30L * i + 25),
+                    Reservation.ReservationStatus.confirmed, null, start.minusDays(1));
+            reservations.add(reservation);
+            views.add(ReservationView.of(reservation));
+        }
+    }
+
+    @Benchmark
+    public byte[] rooms() throws Exception {
+        return mapper.writeValueAsBytes(rooms);
+    }
+
+    @Benchmark
+    public byte[] reservations() throws Exception {
+        return mapper.writeValueAsBytes(reservations);
+    }
+
+    @Benchmark
+    public byte[] reservationViews() throws Exception {
+        return mapper.writeValueAsBytes(views);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.example.mrbs.benchmarks;
+
+import com.example.mrbs.dto.SlotCandidate;
+import com.example.mrbs.dto.SlotSearchRequest;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.service.SlotSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Next-available search over a week across a few hundred rooms. With a booking every hour
+ * around the clock nothing fits, so every room's whole week is scanned; with ten bookings the
+ * first free afternoon answers it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotSearchBenchmark {
+
+    @Param({"300"})
+    private int rooms;
+
+    @Param({"10", "168"})
+    private int reservationsPerRoom;
+
+    private BookingContext context;
+    private SlotSearchService slotSearch;
+    private SlotSearchRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BookingContext.start();
+        slotSearch = context.bean(SlotSearchService.class);
+
+        List<MeetingRoom> seeded = context.seedRooms(rooms);
+        context.seedReservations(context.seedUser("slot.benchmark@jadeglobal.com"), seeded, reservationsPerRoom);
+
+        LocalDateTime from = BookingContext.FIRST_SLOT.toLocalDate().atStartOfDay();
+        request = new SlotSearchRequest();
+        request.setDurationMinutes(60);
+        request.setFromDate(from);
+        request.setToDate(from.plusDays(7));
+        request.setIncludeWeekends(true);
+        request.setLimit(10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SlotCandidate> nextAvailable() {
+        return slotSearch.findNextAvailable(request);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.example.mrbs.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Thin HTTP client for the REST endpoints a scenario drives. Every call is timed into the
+ * stats for its endpoint once {@code recording} says the warmup is over.
+ */
+public class BookingClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats;
+    private final BooleanSupplier recording;
+
+    public BookingClient(ObjectMapper mapper, String baseUrl, Map<String, EndpointStats> stats, BooleanSupplier recording) {
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.recording = recording;
+    }
+
+    public Response get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET().build());
+    }
+
+    public Response post(String endpoint, String path, String token, Object body) {
+        try {
+            return send(endpoint, request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize request body", e);
+        }
+    }
+
+    public Response delete(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).DELETE().build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - started;
+            if (recording.getAsBoolean()) {
+                endpointStats.record(elapsed, response.statusCode());
+            }
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            if (recording.getAsBoolean()) {
+                endpointStats.recordFailure();
+            }
+            return new Response(-1, new byte[0]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, new byte[0]);
+        }
+    }
+
+    public class Response {
+
+        private final int status;
+        private final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public int status() {
+            return status;
+        }
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonNode json() {
+            try {
+                return mapper.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException("Response is not JSON", e);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.example.mrbs.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint. Latencies are kept in microseconds
+ * up to one minute with three significant digits.
+ */
+public class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status == 409) {
+            conflicts.increment();
+        } else if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    // Transport failures count as errors without a latency
+    public void recordFailure() {
+        failures.increment();
+        errors.increment();
+    }
+
+    public long requests() {
+        return latencies.getTotalCount() + failures.sum();
+    }
+
+    public Histogram latencies() {
+        return latencies;
+    }
+
+    public long conflicts() {
+        return conflicts.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+}
\ No newline at end of file
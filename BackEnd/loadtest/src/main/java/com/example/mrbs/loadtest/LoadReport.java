@@ -0,0 +1,101 @@
+package com.example.mrbs.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Turns the per-endpoint stats of a run into a JSON report and a console table, optionally
+ * next to the p99 and throughput of a baseline report from an earlier run.
+ */
+public class LoadReport {
+
+    private final ObjectMapper mapper;
+
+    public LoadReport(ObjectMapper mapper) {
+        this.mapper = mapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public ObjectNode build(Scenario scenario, Map<String, EndpointStats> stats, double measuredSeconds) {
+        ObjectNode report = mapper.createObjectNode();
+        report.put("scenario", scenario.name());
+        report.put("finishedAt", OffsetDateTime.now().toString());
+        report.put("measuredSeconds", measuredSeconds);
+        report.set("settings", mapper.valueToTree(scenario.asMap()));
+
+        ObjectNode endpoints = report.putObject("endpoints");
+        stats.forEach((name, endpointStats) -> {
+            Histogram latencies = endpointStats.latencies();
+            long requests = endpointStats.requests();
+            ObjectNode endpoint = endpoints.putObject(name);
+            endpoint.put("requests", requests);
+            endpoint.put("throughputPerSecond", round(requests / measuredSeconds));
+            endpoint.put("p50Ms", millis(latencies.getValueAtPercentile(50)));
+            endpoint.put("p90Ms", millis(latencies.getValueAtPercentile(90)));
+            endpoint.put("p99Ms", millis(latencies.getValueAtPercentile(99)));
+            endpoint.put("p999Ms", millis(latencies.getValueAtPercentile(99.9)));
+            endpoint.put("maxMs", millis(latencies.getMaxValue()));
+            endpoint.put("conflicts", endpointStats.conflicts());
+            endpoint.put("conflictRate", requests == 0 ? 0 : round((double) endpointStats.conflicts() / requests));
+            endpoint.put("errors", endpointStats.errors());
+        });
+        return report;
+    }
+
+    public void write(ObjectNode report, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        mapper.writeValue(file.toFile(), report);
+    }
+
+    public void print(ObjectNode report, JsonNode baseline, PrintStream out) {
+        out.printf("%nScenario %s, %.0f s measured%n", report.get("scenario").asText(),
+                report.get("measuredSeconds").asDouble());
+        out.printf("%-10s %9s %9s %9s %9s %9s %9s %9s %7s%s%n", "endpoint", "requests", "req/s",
+                "p50 ms", "p99 ms", "p999 ms", "max ms", "409 rate", "errors", baseline == null ? "" : "  vs baseline: p99, req/s");
+        report.get("endpoints").fields().forEachRemaining(entry -> {
+            JsonNode endpoint = entry.getValue();
+            String comparison = "";
+            if (baseline != null) {
+                JsonNode previous = baseline.path("endpoints").path(entry.getKey());
+                comparison = change(endpoint, previous, "p99Ms") + change(endpoint, previous, "throughputPerSecond");
+            }
+            out.printf("%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.3f %7d%s%n", entry.getKey(),
+                    endpoint.get("requests").asLong(), endpoint.get("throughputPerSecond").asDouble(),
+                    endpoint.get("p50Ms").asDouble(), endpoint.get("p99Ms").asDouble(),
+                    endpoint.get("p999Ms").asDouble(), endpoint.get("maxMs").asDouble(),
+                    endpoint.get("conflictRate").asDouble(), endpoint.get("errors").asLong(), comparison);
+        });
+    }
+
+    private static String change(JsonNode endpoint, JsonNode previous, String field) {
+        JsonNode before = previous.path(field);
+        if (!before.isNumber() || before.asDouble() <= 0) {
+            return "";
+        }
+        double change = (endpoint.get(field).asDouble() / before.asDouble() - 1) * 100;
+        return String.format("  %+.1f%% (was %.2f)", change, before.asDouble());
+    }
+
+    public JsonNode read(Path file) throws IOException {
+        return mapper.readTree(file.toFile());
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.mrbs.loadtest;
+
+import com.example.mrbs.MeetingBookingApplication;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on an in-memory database with seeded rooms and users, drives its REST
+ * endpoints with the virtual users of a scenario and writes a latency report.
+ *
+ * <pre>java -jar target/loadtest.jar [--scenario=file.properties] [--key=value ...] [--baseline=old-report.json]</pre>
+ */
+public final class LoadTestMain {
+
+    private static final String PASSWORD = "LoadTest#2024";
+    private static final List<String> ENDPOINTS = List.of("login", "rooms", "available", "book", "cancel");
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.fromArgs(args);
+
+        try (ConfigurableApplicationContext context = start(scenario)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ObjectMapper mapper = context.getBean(ObjectMapper.class);
+            List<Long> roomIds = seedRooms(context, scenario.rooms());
+            List<String> emails = seedUsers(context, scenario.virtualUsers());
+
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            ENDPOINTS.forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+            long startedAt = System.nanoTime();
+            long recordFrom = startedAt + TimeUnit.SECONDS.toNanos(scenario.warmupSeconds());
+            long deadline = recordFrom + TimeUnit.SECONDS.toNanos(scenario.durationSeconds());
+            BookingClient client = new BookingClient(mapper, "http://localhost:" + port, stats,
+                    () -> System.nanoTime() >= recordFrom);
+
+            LocalDateTime windowStart = LocalDate.now().plusDays(1).atTime(scenario.windowStartHour(), 0);
+            System.out.printf("Running %s: %d virtual users, %d s warmup, %d s measured, profiles [%s], %d ms DB latency%n",
+                    scenario.name(), scenario.virtualUsers(), scenario.warmupSeconds(), scenario.durationSeconds(),
+                    scenario.springProfiles(), scenario.dbLatencyMs());
+
+            ExecutorService users = Executors.newFixedThreadPool(scenario.virtualUsers());
+            for (int i = 0; i < scenario.virtualUsers(); i++) {
+                VirtualUser user = new VirtualUser(client, scenario, emails.get(i), PASSWORD, roomIds,
+                        windowStart, deadline, scenario.randomSeed() + i);
+                // Spread the start of the users over the ramp-up
+                long delay = TimeUnit.SECONDS.toMillis(scenario.rampUpSeconds()) * i / scenario.virtualUsers();
+                users.submit(() -> {
+                    Thread.sleep(delay);
+                    user.run();
+                    return null;
+                });
+            }
+            users.shutdown();
+            if (!users.awaitTermination(scenario.rampUpSeconds() + scenario.warmupSeconds()
+                    + scenario.durationSeconds() + 60L, TimeUnit.SECONDS)) {
+                users.shutdownNow();
+            }
+
+            LoadReport report = new LoadReport(mapper);
+            ObjectNode result = report.build(scenario, stats, scenario.durationSeconds());
+            report.write(result, scenario.reportFile());
+            JsonNode baseline = scenario.baselineFile() == null ? null : report.read(scenario.baselineFile());
+            report.print(result, baseline, System.out);
+            System.out.println("\nReport written to " + scenario.reportFile().toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Scenario scenario) {
+        int latencyMillis = scenario.dbLatencyMs();
+        // Command line arguments outrank the application.properties packaged with the app
+        return new SpringApplicationBuilder(MeetingBookingApplication.class)
+                .profiles(scenario.springProfiles().isEmpty() ? new String[0] : scenario.springProfiles().split(","))
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        if (latencyMillis > 0 && bean instanceof DataSource dataSource) {
+                            return new SlowDataSource(dataSource, latencyMillis);
+                        }
+                        return bean;
+                    }
+                }))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest_" + UUID.randomUUID().toString().replace("-", "")
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.com.example=WARN");
+    }
+
+    private static List<Long> seedRooms(ConfigurableApplicationContext context, int count) {
+        List<MeetingRoom> rooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MeetingRoom room = new MeetingRoom();
+            room.setName("Load Room " + i);
+            room.setLocation(MeetingRoom.RoomLocation.values()[i % MeetingRoom.RoomLocation.values().length]);
+            room.setCapacity(4 + i % 12);
+            rooms.add(room);
+        }
+        return context.getBean(MeetingRoomRepository.class).saveAll(rooms).stream().map(MeetingRoom::getId).toList();
+    }
+
+    private static List<String> seedUsers(ConfigurableApplicationContext context, int count) {
+        // One hash for everyone; logins still pay for the check, seeding does not pay per user
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName("Load User " + i);
+            user.setEmail("load.user" + i + "@jadeglobal.com");
+            user.setPassword(hash);
+            users.add(user);
+        }
+        return context.getBean(UserRepository.class).saveAll(users).stream().map(User::getEmail).toList();
+    }
+}
\ No newline at end of file
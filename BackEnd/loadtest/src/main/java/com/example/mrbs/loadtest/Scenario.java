@@ -0,0 +1,159 @@
+package com.example.mrbs.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Workload settings read from a scenario properties file, with command line overrides.
+ */
+public class Scenario {
+
+    private static final String DEFAULT = "scenarios/morning-rush.properties";
+
+    private final String name;
+    private final Properties properties;
+
+    private Scenario(String name, Properties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads {@code --scenario=<file>} (a path, or the name of a bundled scenario; the morning rush
+     * by default) and applies every other {@code --key=value} argument on top.
+     */
+    public static Scenario fromArgs(String[] args) throws IOException {
+        Properties overrides = new Properties();
+        String source = null;
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.equals("scenario")) {
+                source = value;
+            } else {
+                overrides.setProperty(key, value);
+            }
+        }
+
+        Properties properties = new Properties();
+        String bundled = source == null ? DEFAULT : "scenarios/" + source;
+        if (source == null || !Files.exists(Path.of(source))) {
+            try (InputStream in = Scenario.class.getClassLoader().getResourceAsStream(bundled)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("No scenario file or bundled scenario " + source);
+                }
+                properties.load(in);
+            }
+        } else {
+            try (Reader in = Files.newBufferedReader(Path.of(source))) {
+                properties.load(in);
+            }
+        }
+        properties.putAll(overrides);
+
+        String name = source == null ? "morning-rush" : Path.of(source).getFileName().toString().replace(".properties", "");
+        return new Scenario(name, properties);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int virtualUsers() {
+        return intValue("virtualUsers");
+    }
+
+    public int rampUpSeconds() {
+        return intValue("rampUpSeconds");
+    }
+
+    public int warmupSeconds() {
+        return intValue("warmupSeconds");
+    }
+
+    public int durationSeconds() {
+        return intValue("durationSeconds");
+    }
+
+    public int thinkTimeMs() {
+        return intValue("thinkTimeMs");
+    }
+
+    public int rooms() {
+        return intValue("rooms");
+    }
+
+    public int windowStartHour() {
+        return intValue("windowStartHour");
+    }
+
+    public int windowHours() {
+        return intValue("windowHours");
+    }
+
+    public int slotMinutes() {
+        return intValue("slotMinutes");
+    }
+
+    public double cancelRatio() {
+        return Double.parseDouble(value("cancelRatio"));
+    }
+
+    public int reloginEvery() {
+        return intValue("reloginEvery");
+    }
+
+    public long randomSeed() {
+        return Long.parseLong(value("randomSeed"));
+    }
+
+    /**
+     * Spring profiles the application runs with, e.g. {@code virtual-threads}; empty for the defaults.
+     */
+    public String springProfiles() {
+        return properties.getProperty("springProfiles", "").trim();
+    }
+
+    /**
+     * Delay added to every statement the application executes, to mimic a slow database.
+     */
+    public int dbLatencyMs() {
+        return Integer.parseInt(properties.getProperty("dbLatencyMs", "0").trim());
+    }
+
+    public Path reportFile() {
+        return Path.of(value("reportFile"));
+    }
+
+    public Path baselineFile() {
+        String baseline = properties.getProperty("baseline");
+        return baseline == null ? null : Path.of(baseline);
+    }
+
+    public Map<String, String> asMap() {
+        Map<String, String> settings = new TreeMap<>();
+        properties.stringPropertyNames().forEach(key -> settings.put(key, properties.getProperty(key)));
+        return settings;
+    }
+
+    private int intValue(String key) {
+        return Integer.parseInt(value(key));
+    }
+
+    private String value(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Scenario " + name + " does not set " + key);
+        }
+        return value.trim();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.mrbs.loadtest;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds a fixed delay to every statement execution, so the in-memory database behaves like a
+ * MySQL server under load. The connection stays checked out while the caller sleeps.
+ */
+public class SlowDataSource extends DelegatingDataSource {
+
+    private final long latencyMillis;
+
+    public SlowDataSource(DataSource target, long latencyMillis) {
+        super(target);
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return slow(super.getConnection(), Connection.class);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return slow(super.getConnection(username, password), Connection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T slow(T target, Class<?> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(latencyMillis);
+            }
+            Object result = invoke(target, method, args);
+            // Statements handed out by a connection are slowed down as well
+            if (result != null && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return slow(result, method.getReturnType());
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
\ No newline at end of file
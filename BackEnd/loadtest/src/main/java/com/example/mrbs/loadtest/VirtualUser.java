@@ -0,0 +1,94 @@
+package com.example.mrbs.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One simulated employee running the morning-rush loop until the deadline: log in, list rooms,
+ * search for a free room, book a slot and sometimes cancel it again.
+ */
+public class VirtualUser implements Runnable {
+
+    private final BookingClient client;
+    private final Scenario scenario;
+    private final String email;
+    private final String password;
+    private final List<Long> roomIds;
+    private final LocalDateTime windowStart;
+    private final long deadlineNanos;
+    private final SplittableRandom random;
+
+    private String token;
+
+    public VirtualUser(BookingClient client, Scenario scenario, String email, String password, List<Long> roomIds,
+                       LocalDateTime windowStart, long deadlineNanos, long seed) {
+        this.client = client;
+        this.scenario = scenario;
+        this.email = email;
+        this.password = password;
+        this.roomIds = roomIds;
+        this.windowStart = windowStart;
+        this.deadlineNanos = deadlineNanos;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void run() {
+        int iteration = 0;
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            if (token == null || iteration % scenario.reloginEvery() == 0) {
+                login();
+            }
+            if (token != null) {
+                iterate();
+            }
+            iteration++;
+        }
+    }
+
+    private void login() {
+        BookingClient.Response response = client.post("login", "/api/auth/login", null,
+                Map.of("email", email, "password", password));
+        token = response.ok() ? response.json().get("token").asText() : null;
+        think();
+    }
+
+    private void iterate() {
+        client.get("rooms", "/api/rooms", token);
+        think();
+
+        int slots = scenario.windowHours() * 60 / scenario.slotMinutes();
+        LocalDateTime start = windowStart.plusMinutes((long) scenario.slotMinutes() * random.nextInt(slots));
+        LocalDateTime end = start.plusMinutes(scenario.slotMinutes());
+        client.get("available", "/api/rooms/available?startTime=" + start + "&endTime=" + end, token);
+        think();
+
+        Long roomId = roomIds.get(random.nextInt(roomIds.size()));
+        BookingClient.Response booking = client.post("book", "/api/users/reservations", token, Map.of(
+                "roomId", roomId,
+                "title", "Stand-up " + random.nextInt(1000),
+                "startTime", start.toString(),
+                "endTime", end.toString()));
+        think();
+
+        if (booking.ok() && random.nextDouble() < scenario.cancelRatio()) {
+            long id = booking.json().get("id").asLong();
+            client.delete("cancel", "/api/users/reservations/" + id, token);
+            think();
+        }
+    }
+
+    private void think() {
+        if (scenario.thinkTimeMs() <= 0) {
+            return;
+        }
+        try {
+            // Uniform around the configured mean so users do not move in lockstep
+            Thread.sleep(random.nextInt(scenario.thinkTimeMs() * 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
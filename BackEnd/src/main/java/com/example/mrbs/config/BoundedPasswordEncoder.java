@@ -0,0 +1,130 @@
+package com.example.mrbs.config;
+
+import com.example.mrbs.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and checks on a small pool of platform threads, so a burst of logins
+ * keeps to a few cores instead of taking every request thread's. Callers wait for their result;
+ * once {@code queueSize} calls are waiting, or a call has waited {@code maxWaitMillis}, callers
+ * are turned away with {@link PasswordHashingBusyException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final Timer waitTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueSize, long maxWaitMillis,
+                                  long retryAfterSeconds, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("mrbs.auth.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing calls waiting for a thread")
+                .register(registry);
+        Gauge.builder("mrbs.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing calls running")
+                .register(registry);
+        waitTimer = Timer.builder("mrbs.auth.hashing.wait")
+                .description("Time password hashing calls spent queued")
+                .register(registry);
+        queueFull = Counter.builder("mrbs.auth.hashing.rejected")
+                .description("Password hashing calls turned away")
+                .tag("reason", "queue-full")
+                .register(registry);
+        timedOut = Counter.builder("mrbs.auth.hashing.rejected")
+                .description("Password hashing calls turned away")
+                .tag("reason", "timeout")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Rehashing costs a second hash on login, so it is put off while calls are queued; the
+     * account is upgraded on a later login instead.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Picked up as the bean's destroy method
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        long queued = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops the call if it is still queued; one already hashing finishes unobserved
+            future.cancel(false);
+            timedOut.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private PasswordHashingBusyException busy() {
+        return new PasswordHashingBusyException("Too many sign-ins in progress, try again shortly", retryAfterSeconds);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.mrbs.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the pooled DataSource in a {@link BoundedDataSource} when
+ * {@code mrbs.datasource.max-concurrency} is set, so database concurrency stays bounded when
+ * requests run on virtual threads and the thread count no longer does it.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("mrbs.datasource.max-concurrency", Integer.class, 0);
+        long acquireTimeoutMillis = environment.getProperty("mrbs.datasource.acquire-timeout-ms", Long.class, 5000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (maxConcurrency > 0 && bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, maxConcurrency, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
\ No newline at end of file
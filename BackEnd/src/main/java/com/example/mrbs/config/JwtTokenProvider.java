@@ -1,18 +1,28 @@
 package com.example.mrbs.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
@@ -20,52 +30,109 @@ public class JwtTokenProvider {
     private static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
     private static final long JWT_EXPIRATION = 86400000; // 24 hours in milliseconds
 
+    public static final String VERIFY_TIMER = "mrbs.jwt.verify";
+    public static final String FAILURE_COUNTER = "mrbs.jwt.failures";
+
+    // Built once; a JwtParser is immutable and thread-safe
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // Verified tokens by SHA-256 digest, kept until they expire or fall out of the LRU
+    private final Map<String, VerifiedToken> verified;
+
+    private final Timer cachedVerifyTimer;
+    private final Timer parsedVerifyTimer;
+    private final MeterRegistry meterRegistry;
+
+    public JwtTokenProvider(@Value("${mrbs.jwt.verified-cache-size:4096}") int cacheSize, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        cachedVerifyTimer = Timer.builder(VERIFY_TIMER)
+                .description("Time to verify a bearer token")
+                .tag("cache", "hit")
+                .register(meterRegistry);
+        parsedVerifyTimer = Timer.builder(VERIFY_TIMER)
+                .description("Time to verify a bearer token")
+                .tag("cache", "miss")
+                .register(meterRegistry);
+
+        verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
+        // Enough identity for requests to be authenticated without loading the user
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", userDetails.getAuthorities());
+        claims.put("uid", principal.getId());
+        claims.put("role", principal.getRole().name());
 
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + JWT_EXPIRATION);
 
         return Jwts.builder()
                 .setClaims(claims)
-                .setSubject(userDetails.getUsername())
+                .setSubject(principal.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
-    }
+    /**
+     * Checks the signature and expiry of the token in a single parse. Throws the usual jjwt
+     * exceptions for invalid or expired tokens.
+     */
+    public VerifiedToken verify(String token) {
+        long started = System.nanoTime();
+        String digest = digest(token);
+        Instant now = Instant.now();
 
-    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
-    }
+        synchronized (verified) {
+            VerifiedToken cached = verified.get(digest);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    cachedVerifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return cached;
+                }
+                verified.remove(digest);
+            }
+        }
 
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
+        // Expired tokens fail here with ExpiredJwtException
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (RuntimeException e) {
+            Counter.builder(FAILURE_COUNTER)
+                    .description("Bearer tokens rejected, by reason")
+                    .tag("reason", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            parsedVerifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), claims.get("uid", Long.class),
+                claims.getExpiration().toInstant());
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        synchronized (verified) {
+            verified.put(digest, result);
+        }
+        return result;
     }
 
-    private boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
\ No newline at end of file
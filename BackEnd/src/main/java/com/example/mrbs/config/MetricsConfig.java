@@ -0,0 +1,90 @@
+package com.example.mrbs.config;
+
+import com.example.mrbs.service.AvailabilityEventHub;
+import com.example.mrbs.service.ReservationOverlapIndex;
+import com.example.mrbs.service.RoomCatalog;
+import com.example.mrbs.service.RoomLockStripes;
+import com.example.mrbs.service.UserCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the counters the booking internals already keep. Request timers, JVM and Hikari
+ * pool metrics come from Spring Boot's auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder roomLockMetrics(RoomLockStripes roomLocks) {
+        return registry -> {
+            FunctionCounter.builder("mrbs.booking.locks.acquisitions", roomLocks, RoomLockStripes::getAcquisitions)
+                    .description("Room lock acquisitions")
+                    .register(registry);
+            FunctionCounter.builder("mrbs.booking.locks.contended", roomLocks, RoomLockStripes::getContendedAcquisitions)
+                    .description("Room lock acquisitions that had to wait")
+                    .register(registry);
+            FunctionCounter.builder("mrbs.booking.locks.wait", roomLocks,
+                            locks -> TimeUnit.NANOSECONDS.toMillis(locks.getWaitNanos()))
+                    .description("Total time spent waiting for room locks")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionCounter.builder("mrbs.booking.locks.timeouts", roomLocks, RoomLockStripes::getTimeouts)
+                    .description("Bookings rejected because a room lock was not acquired in time")
+                    .register(registry);
+            FunctionCounter.builder("mrbs.booking.locks.rejected.races", roomLocks, RoomLockStripes::getRejectedRaces)
+                    .description("Bookings that waited for a lock and then lost the slot")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder bookingCacheMetrics(RoomCatalog roomCatalog, UserCache userCache,
+                                           ReservationOverlapIndex overlapIndex, AvailabilityEventHub eventHub) {
+        return registry -> {
+            FunctionCounter.builder("mrbs.room.catalog.hits", roomCatalog, catalog -> catalog.stats().getHits())
+                    .description("Room reads served by the current catalog snapshot")
+                    .register(registry);
+            FunctionCounter.builder("mrbs.room.catalog.rebuilds", roomCatalog, catalog -> catalog.stats().getRebuilds())
+                    .description("Room catalog snapshot rebuilds")
+                    .register(registry);
+            Gauge.builder("mrbs.user.cache.size", userCache, UserCache::size)
+                    .description("Accounts held by the user cache")
+                    .register(registry);
+            Gauge.builder("mrbs.reservation.index.size", overlapIndex, ReservationOverlapIndex::size)
+                    .description("Confirmed reservations held by the overlap index")
+                    .register(registry);
+            Gauge.builder("mrbs.availability.subscribers", eventHub, AvailabilityEventHub::subscriberCount)
+                    .description("Open availability event streams")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            BoundedDataSource bounded;
+            try {
+                if (!dataSource.isWrapperFor(BoundedDataSource.class)) {
+                    return;
+                }
+                bounded = dataSource.unwrap(BoundedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("mrbs.datasource.permits.available", bounded, BoundedDataSource::getAvailablePermits)
+                    .description("Database connections that may still be checked out under the concurrency limit")
+                    .register(registry);
+            Gauge.builder("mrbs.datasource.permits.waiting", bounded, BoundedDataSource::getWaiting)
+                    .description("Threads waiting for the database concurrency limit")
+                    .register(registry);
+        };
+    }
+}
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.example.mrbs.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,6 +31,23 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // Stored hashes below this cost are rehashed on the next login
+    @Value("${mrbs.auth.bcrypt-cost:10}")
+    private int bcryptCost;
+
+    // 0 uses half the available processors
+    @Value("${mrbs.auth.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${mrbs.auth.hashing.queue-size:64}")
+    private int hashingQueueSize;
+
+    @Value("${mrbs.auth.hashing.max-wait-ms:5000}")
+    private long hashingMaxWaitMillis;
+
+    @Value("${mrbs.auth.hashing.retry-after-seconds:2}")
+    private long hashingRetryAfterSeconds;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -37,6 +56,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("admin")
                         .requestMatchers("/api/admin/**").hasRole("admin")
                         .anyRequest().authenticated()
                 );
@@ -52,8 +73,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Timed inside the pool, so the hash timers leave out queueing
+        return new BoundedPasswordEncoder(new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptCost), meterRegistry),
+                threads, hashingQueueSize, hashingMaxWaitMillis, hashingRetryAfterSeconds, meterRegistry);
     }
 
     @Bean
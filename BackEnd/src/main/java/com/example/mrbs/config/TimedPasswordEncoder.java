@@ -0,0 +1,54 @@
+package com.example.mrbs.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times hashing and checking passwords, which dominate the cost of signup and login.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    public static final String ENCODE = "mrbs.auth.password.encode";
+    public static final String CHECK = "mrbs.auth.password.check";
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer mismatchTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        encodeTimer = Timer.builder(ENCODE)
+                .description("Time to hash a password")
+                .register(registry);
+        matchTimer = Timer.builder(CHECK)
+                .description("Time to check a password against its hash")
+                .tag("result", "match")
+                .register(registry);
+        mismatchTimer = Timer.builder(CHECK)
+                .description("Time to check a password against its hash")
+                .tag("result", "mismatch")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long started = System.nanoTime();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        (matches ? matchTimer : mismatchTimer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.mrbs.config;
+
+import com.example.mrbs.model.User;
+import com.example.mrbs.model.User.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated identity. Built from the database at login and from signed token claims on every
+ * other request; {@link #getUser()} is the resolved account when the caller looked it up.
+ */
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final UserRole role;
+    private final String password;
+    private final User user;
+
+    public UserPrincipal(Long id, String email, UserRole role, String password, User user) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.password = password;
+        this.user = user;
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getRole(), user.getPassword(), user);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.mrbs.config;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has been checked, parsed once and safe to share.
+ */
+public record VerifiedToken(String subject, Long userId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.example.mrbs.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process and reports virtual threads
+ * that blocked while pinned to their carrier, e.g. on I/O inside a {@code synchronized} block.
+ * Pins are timed as {@code mrbs.threads.pinned}, tagged with the first frame in our code.
+ */
+@Component
+@ConditionalOnProperty(name = "mrbs.threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.example.mrbs.";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${mrbs.threads.pinning-monitor.threshold-ms:20}")
+    private long thresholdMillis;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            log.info("Virtual thread pinning monitor needs Java 21 or later, running on {}", Runtime.version());
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", thresholdMillis);
+    }
+
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = frames.stream()
+                .map(RecordedFrame::getMethod)
+                .filter(method -> method != null && method.getType().getName().startsWith(APPLICATION_PACKAGE))
+                .map(VirtualThreadPinningMonitor::describe)
+                .findFirst()
+                .orElse(null);
+
+        Duration duration = event.getDuration();
+        if (site != null) {
+            log.warn("Virtual thread pinned its carrier for {} ms in {}, blocked in {}", duration.toMillis(), site,
+                    frames.isEmpty() ? "unknown" : describe(frames.get(0).getMethod()));
+        } else {
+            log.debug("Virtual thread pinned its carrier for {} ms outside application code", duration.toMillis());
+        }
+
+        Timer.builder("mrbs.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .tag("site", site == null ? "other" : site)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    private static String describe(RecordedMethod method) {
+        return method == null ? "unknown" : method.getType().getName() + "." + method.getName();
+    }
+}
\ No newline at end of file
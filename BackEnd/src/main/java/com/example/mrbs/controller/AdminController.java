@@ -1,19 +1,36 @@
 package com.example.mrbs.controller;
 
+import com.example.mrbs.dto.ArchiveRestoreReport;
+import com.example.mrbs.dto.CursorPage;
+import com.example.mrbs.dto.HourOfDayUtilization;
+import com.example.mrbs.dto.IndexConsistencyReport;
+import com.example.mrbs.dto.LocationUtilization;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.dto.RoomCatalogStats;
 import com.example.mrbs.dto.RoomDto;
+import com.example.mrbs.dto.RoomUtilization;
+import com.example.mrbs.dto.UtilizationRebuildReport;
 import com.example.mrbs.model.MeetingRoom;
-import com.example.mrbs.model.Reservation;
 import com.example.mrbs.model.User;
 import com.example.mrbs.service.MeetingRoomService;
+import com.example.mrbs.service.ReservationArchiveJob;
+import com.example.mrbs.service.ReservationIndexVerifier;
 import com.example.mrbs.service.ReservationService;
+import com.example.mrbs.service.RoomUsageRollup;
 import com.example.mrbs.service.UserService;
+import com.example.mrbs.service.UtilizationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -30,9 +47,26 @@ public class AdminController {
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private ReservationIndexVerifier reservationIndexVerifier;
+
+    @Autowired
+    private UtilizationService utilizationService;
+
+    @Autowired
+    private RoomUsageRollup roomUsageRollup;
+
+    @Autowired
+    private ReservationArchiveJob reservationArchiveJob;
+
     // User management APIs
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        // Keyset pages when asked for, the full list otherwise
+        if (cursor != null || limit != null) {
+            return ResponseEntity.ok(userService.findAllUsers(cursor, limit));
+        }
         List<User> users = userService.findAllUsers();
         return ResponseEntity.ok(users);
     }
@@ -80,22 +114,106 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/room-catalog/stats")
+    public ResponseEntity<RoomCatalogStats> getRoomCatalogStats() {
+        RoomCatalogStats stats = roomService.getCatalogStats();
+        return ResponseEntity.ok(stats);
+    }
+
     // Reservation management APIs
     @GetMapping("/reservations")
-    public ResponseEntity<List<Reservation>> getAllReservations() {
-        List<Reservation> reservations = reservationService.findAllReservations();
+    public ResponseEntity<?> getAllReservations(@RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return ResponseEntity.ok(reservationService.findAllReservations(cursor, limit));
+        }
+        List<ReservationView> reservations = reservationService.findAllReservations();
         return ResponseEntity.ok(reservations);
     }
 
+    @GetMapping("/reservations/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations() {
+        StreamingResponseBody body = reservationService::exportReservations;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/reservations/room/{roomId}")
-    public ResponseEntity<List<Reservation>> getReservationsByRoom(@PathVariable Long roomId) {
-        List<Reservation> reservations = reservationService.findReservationsByRoom(roomId);
+    public ResponseEntity<List<ReservationView>> getReservationsByRoom(@PathVariable Long roomId) {
+        List<ReservationView> reservations = reservationService.findReservationsByRoom(roomId);
         return ResponseEntity.ok(reservations);
     }
 
+    // Live and archived reservations, always paged
+    @GetMapping("/reservations/history")
+    public ResponseEntity<CursorPage<ReservationView>> getReservationHistory(
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<ReservationView> page = reservationService.findHistory(roomId, fromDate, toDate, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // Moves archived reservations that ended in [fromDate, toDate) back to the live table
+    @PostMapping("/reservations/archive/restore")
+    public ResponseEntity<ArchiveRestoreReport> restoreArchivedReservations(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) Long roomId) {
+        ArchiveRestoreReport report = reservationArchiveJob.restore(fromDate, toDate, roomId);
+        return ResponseEntity.ok(report);
+    }
+
     @PutMapping("/reservations/{id}/status")
-    public ResponseEntity<Reservation> updateReservationStatus(@PathVariable Long id, @RequestParam String status) {
-        Reservation updatedReservation = reservationService.updateReservationStatus(id, status);
+    public ResponseEntity<ReservationView> updateReservationStatus(@PathVariable Long id, @RequestParam String status) {
+        ReservationView updatedReservation = reservationService.updateReservationStatus(id, status);
         return ResponseEntity.ok(updatedReservation);
     }
+
+    // Reservation index APIs
+    @GetMapping("/reservation-index/consistency")
+    public ResponseEntity<IndexConsistencyReport> checkReservationIndex() {
+        IndexConsistencyReport report = reservationIndexVerifier.verify(false);
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/reservation-index/repair")
+    public ResponseEntity<IndexConsistencyReport> repairReservationIndex() {
+        IndexConsistencyReport report = reservationIndexVerifier.verify(true);
+        return ResponseEntity.ok(report);
+    }
+
+    // Utilization APIs, served from the usage rollups; date ranges are inclusive
+    @GetMapping("/utilization/rooms")
+    public ResponseEntity<List<RoomUtilization>> getRoomUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String location) {
+        List<RoomUtilization> rooms = utilizationService.findRoomUtilization(fromDate, toDate, location);
+        return ResponseEntity.ok(rooms);
+    }
+
+    @GetMapping("/utilization/locations")
+    public ResponseEntity<List<LocationUtilization>> getLocationUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        List<LocationUtilization> locations = utilizationService.findLocationUtilization(fromDate, toDate);
+        return ResponseEntity.ok(locations);
+    }
+
+    @GetMapping("/utilization/hours")
+    public ResponseEntity<List<HourOfDayUtilization>> getHourOfDayUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String location) {
+        List<HourOfDayUtilization> hours = utilizationService.findHourOfDayUtilization(fromDate, toDate, location);
+        return ResponseEntity.ok(hours);
+    }
+
+    @PostMapping("/utilization/rebuild")
+    public ResponseEntity<UtilizationRebuildReport> rebuildUtilization() {
+        UtilizationRebuildReport report = roomUsageRollup.rebuild();
+        return ResponseEntity.ok(report);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,33 @@
 package com.example.mrbs.controller;
 
+import com.example.mrbs.dto.CursorPage;
+import com.example.mrbs.dto.FreeBusyResponse;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.dto.RoomFeedbackSummary;
+import com.example.mrbs.dto.RoomFeedbackView;
+import com.example.mrbs.dto.SlotCandidate;
+import com.example.mrbs.dto.SlotSearchRequest;
 import com.example.mrbs.model.MeetingRoom;
-import com.example.mrbs.model.Reservation;
+import com.example.mrbs.service.AvailabilityEventHub;
+import com.example.mrbs.service.FreeBusyService;
 import com.example.mrbs.service.MeetingRoomService;
 import com.example.mrbs.service.ReservationService;
+import com.example.mrbs.service.ResourceVersions;
+import com.example.mrbs.service.RoomFeedbackService;
+import com.example.mrbs.service.SlotSearchService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,32 +36,65 @@ import java.util.List;
 @RequestMapping("/api/rooms")
 public class RoomController {
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MeetingRoomService roomService;
 
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private FreeBusyService freeBusyService;
+
+    @Autowired
+    private SlotSearchService slotSearchService;
+
+    @Autowired
+    private AvailabilityEventHub availabilityEventHub;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private RoomFeedbackService feedbackService;
+
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+
+    // Conditional GETs: a matching If-None-Match is answered with 304 before any lookup
     @GetMapping
-    public ResponseEntity<List<MeetingRoom>> getAllAvailableRooms() {
+    public ResponseEntity<List<MeetingRoom>> getAllAvailableRooms(NativeWebRequest request) {
+        if (notModified(resourceVersions.catalog(), request)) {
+            return null;
+        }
         List<MeetingRoom> rooms = roomService.findAvailableRooms();
         return ResponseEntity.ok(rooms);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MeetingRoom> getRoomById(@PathVariable Long id) {
+    public ResponseEntity<MeetingRoom> getRoomById(@PathVariable Long id, NativeWebRequest request) {
+        if (notModified(resourceVersions.room(id), request)) {
+            return null;
+        }
         MeetingRoom room = roomService.findById(id);
         return ResponseEntity.ok(room);
     }
 
     @GetMapping("/location/{location}")
-    public ResponseEntity<List<MeetingRoom>> getRoomsByLocation(@PathVariable String location) {
+    public ResponseEntity<List<MeetingRoom>> getRoomsByLocation(@PathVariable String location, NativeWebRequest request) {
+        if (notModified(resourceVersions.catalog(), request)) {
+            return null;
+        }
         List<MeetingRoom> rooms = roomService.findRoomsByLocation(location);
         return ResponseEntity.ok(rooms);
     }
 
     @GetMapping("/capacity/{minCapacity}")
-    public ResponseEntity<List<MeetingRoom>> getRoomsByMinCapacity(@PathVariable int minCapacity) {
+    public ResponseEntity<List<MeetingRoom>> getRoomsByMinCapacity(@PathVariable int minCapacity, NativeWebRequest request) {
+        if (notModified(resourceVersions.catalog(), request)) {
+            return null;
+        }
         List<MeetingRoom> rooms = roomService.findRoomsByMinCapacity(minCapacity);
         return ResponseEntity.ok(rooms);
     }
@@ -54,13 +107,43 @@ public class RoomController {
         return ResponseEntity.ok(rooms);
     }
 
+    // Busy ranges for several rooms at once; titles and organizers only with details=true
+    @GetMapping("/free-busy")
+    public ResponseEntity<FreeBusyResponse> getFreeBusy(
+            @RequestParam(required = false) List<Long> roomIds,
+            @RequestParam(required = false) String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(defaultValue = "false") boolean details) {
+        FreeBusyResponse freeBusy = freeBusyService.findFreeBusy(roomIds, location, fromDate, toDate, details);
+        return ResponseEntity.ok(freeBusy);
+    }
+
+    // Earliest bookable slots for a meeting, across all rooms that fit it
+    @GetMapping("/next-available")
+    public ResponseEntity<List<SlotCandidate>> findNextAvailable(SlotSearchRequest request) {
+        List<SlotCandidate> candidates = slotSearchService.findNextAvailable(request);
+        return ResponseEntity.ok(candidates);
+    }
+
     @GetMapping("/{id}/schedule")
-    public ResponseEntity<List<Reservation>> getRoomSchedule(
+    public ResponseEntity<?> getRoomSchedule(
             @PathVariable Long id,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            NativeWebRequest request) {
+
+        if (notModified(resourceVersions.room(id), request)) {
+            return null;
+        }
+
+        if (cursor != null || limit != null) {
+            return ResponseEntity.ok(reservationService.findReservationsByRoom(id, fromDate, toDate, cursor, limit));
+        }
 
-        List<Reservation> reservations;
+        List<ReservationView> reservations;
         if (fromDate != null && toDate != null) {
             reservations = reservationService.findReservationsByRoomAndDateRange(id, fromDate, toDate);
         } else {
@@ -71,8 +154,69 @@ public class RoomController {
     }
 
     @PostMapping("/{id}/feedback")
-    public ResponseEntity<MeetingRoom> addRoomFeedback(@PathVariable Long id, @RequestParam String feedback) {
-        MeetingRoom room = roomService.addFeedback(id, feedback);
-        return ResponseEntity.ok(room);
+    public ResponseEntity<RoomFeedbackView> addRoomFeedback(@PathVariable Long id, @RequestParam String feedback) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        RoomFeedbackView entry = feedbackService.addFeedback(id, email, feedback);
+        return new ResponseEntity<>(entry, HttpStatus.CREATED);
+    }
+
+    // Newest first
+    @GetMapping("/{id}/feedback")
+    public ResponseEntity<CursorPage<RoomFeedbackView>> getRoomFeedback(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<RoomFeedbackView> page = feedbackService.findFeedback(id, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/{id}/feedback/summary")
+    public ResponseEntity<RoomFeedbackSummary> getRoomFeedbackSummary(@PathVariable Long id) {
+        RoomFeedbackSummary summary = feedbackService.findSummary(id);
+        return ResponseEntity.ok(summary);
+    }
+
+    // Server-sent availability changes for the given rooms and/or every room at a location
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @RequestParam(required = false) List<Long> roomIds,
+            @RequestParam(required = false) String location) {
+        return availabilityEventHub.subscribe(roomIds, location);
+    }
+
+    // JSON, Smile and CBOR bodies differ, so each representation gets its own strong tag
+    private boolean notModified(String etag, NativeWebRequest request) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String format = negotiatedFormat(request);
+        String tag = format == null ? etag : etag.substring(0, etag.length() - 1) + "-" + format + "\"";
+        return request.checkNotModified(tag);
+    }
+
+    // The converters' choice: acceptable types come sorted by quality, and wildcards get JSON
+    private String negotiatedFormat(NativeWebRequest request) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (type.includes(SMILE)) {
+                return "smile";
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+        }
+        return null;
     }
 }
\ No newline at end of file
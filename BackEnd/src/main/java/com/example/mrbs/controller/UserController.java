@@ -1,13 +1,21 @@
 package com.example.mrbs.controller;
 
+import com.example.mrbs.config.UserPrincipal;
+import com.example.mrbs.dto.BatchReservationRequest;
+import com.example.mrbs.dto.BatchReservationResponse;
+import com.example.mrbs.dto.CursorPage;
 import com.example.mrbs.dto.ReservationDto;
-import com.example.mrbs.model.Reservation;
+import com.example.mrbs.dto.ReservationSeriesDto;
+import com.example.mrbs.dto.ReservationSeriesResponse;
+import com.example.mrbs.dto.ReservationView;
 import com.example.mrbs.model.User;
+import com.example.mrbs.service.ReservationSeriesService;
 import com.example.mrbs.service.ReservationService;
 import com.example.mrbs.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,13 +32,12 @@ public class UserController {
     @Autowired
     private ReservationService reservationService;
 
-    @GetMapping("/profile")
-    public ResponseEntity<User> getUserProfile() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email = auth.getName();
-        User user = userService.findByEmail(email);
+    @Autowired
+    private ReservationSeriesService seriesService;
 
-        return ResponseEntity.ok(user);
+    @GetMapping("/profile")
+    public ResponseEntity<User> getUserProfile(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(principal.getUser());
     }
 
     @PutMapping("/profile")
@@ -43,29 +50,53 @@ public class UserController {
     }
 
     @GetMapping("/reservations")
-    public ResponseEntity<List<Reservation>> getUserReservations() {
+    public ResponseEntity<?> getUserReservations(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        List<Reservation> reservations = reservationService.findUserReservations(email);
+        if (cursor != null || limit != null) {
+            return ResponseEntity.ok(reservationService.findUserReservations(email, cursor, limit));
+        }
+        List<ReservationView> reservations = reservationService.findUserReservations(email);
 
         return ResponseEntity.ok(reservations);
     }
 
+    // Includes archived reservations; always paged
+    @GetMapping("/reservations/history")
+    public ResponseEntity<CursorPage<ReservationView>> getUserReservationHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        return ResponseEntity.ok(reservationService.findUserHistory(email, cursor, limit));
+    }
+
     @PostMapping("/reservations")
-    public ResponseEntity<Reservation> createReservation(@Valid @RequestBody ReservationDto reservationDto) {
+    public ResponseEntity<ReservationView> createReservation(@Valid @RequestBody ReservationDto reservationDto) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        Reservation newReservation = reservationService.createReservation(email, reservationDto);
+        ReservationView newReservation = reservationService.createReservation(email, reservationDto);
 
         return ResponseEntity.ok(newReservation);
     }
 
+    @PostMapping("/reservations/batch")
+    public ResponseEntity<BatchReservationResponse> createReservations(
+            @Valid @RequestBody BatchReservationRequest batchRequest) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        BatchReservationResponse response = reservationService.createReservations(email, batchRequest.getReservations());
+
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/reservations/{id}")
-    public ResponseEntity<Reservation> updateReservation(@PathVariable Long id,
+    public ResponseEntity<ReservationView> updateReservation(@PathVariable Long id,
                                                          @Valid @RequestBody ReservationDto reservationDto) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        Reservation updatedReservation = reservationService.updateReservation(id, email, reservationDto);
+        ReservationView updatedReservation = reservationService.updateReservation(id, email, reservationDto);
 
         return ResponseEntity.ok(updatedReservation);
     }
@@ -78,4 +109,42 @@ public class UserController {
 
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/reservations/series/{id}")
+    public ResponseEntity<ReservationSeriesResponse> getReservationSeries(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        ReservationSeriesResponse series = seriesService.findSeries(id, email);
+
+        return ResponseEntity.ok(series);
+    }
+
+    @PostMapping("/reservations/series")
+    public ResponseEntity<ReservationSeriesResponse> createReservationSeries(
+            @Valid @RequestBody ReservationSeriesDto seriesDto) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        ReservationSeriesResponse series = seriesService.createSeries(email, seriesDto);
+
+        return ResponseEntity.ok(series);
+    }
+
+    @PutMapping("/reservations/series/{id}")
+    public ResponseEntity<ReservationSeriesResponse> updateReservationSeries(@PathVariable Long id,
+                                                                             @Valid @RequestBody ReservationSeriesDto seriesDto) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        ReservationSeriesResponse series = seriesService.updateSeries(id, email, seriesDto);
+
+        return ResponseEntity.ok(series);
+    }
+
+    @DeleteMapping("/reservations/series/{id}")
+    public ResponseEntity<?> cancelReservationSeries(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        seriesService.cancelSeries(id, email);
+
+        return ResponseEntity.ok().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchiveRestoreReport {
+
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    private Long roomId;
+    private long restored;
+}
\ No newline at end of file
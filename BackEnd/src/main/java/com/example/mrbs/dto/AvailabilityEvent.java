@@ -0,0 +1,45 @@
+package com.example.mrbs.dto;
+
+import com.example.mrbs.model.MeetingRoom.RoomAvailability;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change pushed to availability subscribers. Reservation events carry the reservation's
+ * interval and whether it now blocks the room; room events carry the room's new state, with
+ * {@code deleted} set when it is gone.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityEvent {
+
+    private Long roomId;
+    private RoomLocation location;
+    private Long reservationId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Boolean busy;
+    private String name;
+    private Integer capacity;
+    private RoomAvailability availability;
+    private Boolean deleted;
+
+    public static AvailabilityEvent reservation(Long roomId, RoomLocation location, Long reservationId,
+                                                LocalDateTime startTime, LocalDateTime endTime, boolean busy) {
+        return new AvailabilityEvent(roomId, location, reservationId, startTime, endTime, busy,
+                null, null, null, null);
+    }
+
+    public static AvailabilityEvent room(Long roomId, RoomLocation location, String name, Integer capacity,
+                                         RoomAvailability availability, boolean deleted) {
+        return new AvailabilityEvent(roomId, location, null, null, null, null,
+                name, capacity, availability, deleted);
+    }
+}
\ No newline at end of file
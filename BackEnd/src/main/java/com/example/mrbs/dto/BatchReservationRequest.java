@@ -0,0 +1,20 @@
+package com.example.mrbs.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchReservationRequest {
+
+    // Items are validated one by one so a bad row only fails itself
+    @NotEmpty(message = "At least one reservation is required")
+    @Size(max = 500, message = "At most 500 reservations can be booked in one batch")
+    private List<ReservationDto> reservations;
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchReservationResponse {
+
+    private int created;
+    private int rejected;
+    private List<BatchReservationResult> results;
+}
\ No newline at end of file
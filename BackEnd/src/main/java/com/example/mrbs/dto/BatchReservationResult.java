@@ -0,0 +1,20 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchReservationResult {
+
+    private int index;
+    private ItemStatus status;
+    private Long reservationId;
+    private String message;
+
+    public enum ItemStatus {
+        created, conflict, invalid
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    // Null on the last page
+    private String nextCursor;
+
+    public static <T> CursorPage<T> of(Window<T> window) {
+        String next = window.hasNext() && !window.isEmpty()
+                ? PageCursor.of((KeysetScrollPosition) window.positionAt(window.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(window.getContent(), next);
+    }
+
+    /**
+     * Page from rows fetched with one more than {@code limit}; the extra row only signals that
+     * another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.mrbs.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Busy time per room over [from, to]. Ranges are stored column-wise as minute offsets from
+ * {@code from}: busy range i of a room runs from {@code starts[i]} to {@code ends[i]}. Ranges are
+ * merged, sorted and clipped to the window, so everything outside them is free.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FreeBusyResponse {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<RoomBusy> rooms;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RoomBusy {
+
+        private Long roomId;
+        private int[] starts;
+        private int[] ends;
+
+        // Only when details are requested
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private List<BusyReservation> reservations;
+    }
+
+    /**
+     * A reservation behind the busy ranges, with unclipped offsets that may fall outside the window.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BusyReservation {
+
+        private Long id;
+        private String title;
+        private String organizer;
+        private int start;
+        private int end;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HourOfDayUtilization {
+
+    private Integer hour;
+    private Long bookedMinutes;
+    private Long bookings;
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IndexConsistencyReport {
+
+    private LocalDateTime checkedAt;
+    private boolean conclusive;
+    private int databaseCount;
+    private int indexCount;
+    private List<Long> missingFromIndex;
+    private List<Long> staleInIndex;
+    private List<Long> mismatched;
+    private boolean rebuilt;
+
+    public boolean isConsistent() {
+        return missingFromIndex.isEmpty() && staleInIndex.isEmpty() && mismatched.isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.mrbs.dto;
+
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LocationUtilization {
+
+    private RoomLocation location;
+    private int rooms;
+    private long bookedMinutes;
+    private long bookings;
+
+    // Booked share of the open hours of all rooms at the location in the period
+    private double occupancy;
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.mrbs.dto;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor: the sort keys of the last row of a page. {@code startTime} is null for
+ * lists ordered by id alone.
+ */
+public record PageCursor(LocalDateTime startTime, Long id) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    // Sorts before every stored row, so a query "after" it returns the first page
+    public static final PageCursor FIRST = new PageCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    public static ScrollPosition position(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        return decode(cursor).toScrollPosition();
+    }
+
+    public static PageCursor decodeOrFirst(String cursor) {
+        return cursor == null || cursor.isEmpty() ? FIRST : decode(cursor);
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            LocalDateTime startTime = separator == 0 ? null : LocalDateTime.parse(value.substring(0, separator));
+            return new PageCursor(startTime, Long.valueOf(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static PageCursor of(KeysetScrollPosition position) {
+        Map<String, Object> keys = position.getKeys();
+        return new PageCursor((LocalDateTime) keys.get("startTime"), ((Number) keys.get("id")).longValue());
+    }
+
+    public String encode() {
+        String value = (startTime == null ? "" : startTime.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (startTime != null) {
+            keys.put("startTime", startTime);
+        }
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.mrbs.dto;
+
+import com.example.mrbs.model.ReservationSeries.Frequency;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationSeriesDto {
+
+    @NotNull(message = "Room ID is required")
+    private Long roomId;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    @NotNull(message = "Start time is required")
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time is required")
+    @Future(message = "End time must be in the future")
+    private LocalDateTime endTime;
+
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+
+    @Min(value = 1, message = "Repeat interval must be at least 1")
+    private Integer repeatInterval = 1;
+
+    private LocalDate untilDate;
+
+    @Min(value = 1, message = "Occurrence count must be at least 1")
+    private Integer occurrenceCount;
+}
\ No newline at end of file
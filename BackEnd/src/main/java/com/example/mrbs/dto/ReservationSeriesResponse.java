@@ -0,0 +1,17 @@
+package com.example.mrbs.dto;
+
+import com.example.mrbs.model.ReservationSeries;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationSeriesResponse {
+
+    private ReservationSeries series;
+    private List<ReservationView> occurrences;
+}
\ No newline at end of file
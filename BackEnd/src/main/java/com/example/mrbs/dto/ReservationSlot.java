@@ -0,0 +1,18 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationSlot {
+
+    private Long reservationId;
+    private Long roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.mrbs.dto;
+
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for reservations: the reservation columns plus just enough of its user and room
+ * for lists, fetched with a single join instead of loading both entities.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationView {
+
+    private Long id;
+    private String title;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private ReservationStatus status;
+    private LocalDateTime createdAt;
+    private Long seriesId;
+    private UserSummary user;
+    private RoomSummary room;
+
+    // Used by JPQL constructor expressions
+    public ReservationView(Long id, String title, LocalDateTime startTime, LocalDateTime endTime,
+                           ReservationStatus status, LocalDateTime createdAt, Long seriesId,
+                           Long userId, String userName, String userEmail,
+                           Long roomId, String roomName, RoomLocation roomLocation, Integer roomCapacity) {
+        this(id, title, startTime, endTime, status, createdAt, seriesId,
+                new UserSummary(userId, userName, userEmail),
+                new RoomSummary(roomId, roomName, roomLocation, roomCapacity));
+    }
+
+    public static ReservationView of(Reservation reservation) {
+        User user = reservation.getUser();
+        MeetingRoom room = reservation.getRoom();
+        return new ReservationView(reservation.getId(), reservation.getTitle(), reservation.getStartTime(),
+                reservation.getEndTime(), reservation.getStatus(), reservation.getCreatedAt(), reservation.getSeriesId(),
+                user.getId(), user.getName(), user.getEmail(),
+                room.getId(), room.getName(), room.getLocation(), room.getCapacity());
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class UserSummary {
+
+        private Long id;
+        private String name;
+        private String email;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RoomSummary {
+
+        private Long id;
+        private String name;
+        private RoomLocation location;
+        private Integer capacity;
+    }
+}
\ No newline at end of file
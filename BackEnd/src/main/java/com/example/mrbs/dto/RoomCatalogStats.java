@@ -0,0 +1,19 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomCatalogStats {
+
+    private int rooms;
+    private long hits;
+    private long rebuilds;
+    private long lastRebuildMillis;
+    private LocalDateTime builtAt;
+}
\ No newline at end of file
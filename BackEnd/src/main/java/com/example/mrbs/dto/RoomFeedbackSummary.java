@@ -0,0 +1,21 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomFeedbackSummary {
+
+    private Long roomId;
+    private long count;
+    private LocalDateTime latestAt;
+
+    // Newest first
+    private List<RoomFeedbackView> latest;
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomFeedbackView {
+
+    private Long id;
+    private Long roomId;
+    private String feedback;
+    private LocalDateTime createdAt;
+
+    // Null when the entry has no author or the author was deleted
+    private Long authorId;
+    private String authorName;
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomScheduleVersion {
+
+    private Long roomId;
+    private long version;
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.mrbs.dto;
+
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomUtilization {
+
+    private Long roomId;
+    private String roomName;
+    private RoomLocation location;
+    private long bookedMinutes;
+    private long bookings;
+
+    // Booked share of the room's open hours in the period
+    private double occupancy;
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.mrbs.dto;
+
+import com.example.mrbs.dto.ReservationView.RoomSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotCandidate {
+
+    private RoomSummary room;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
\ No newline at end of file
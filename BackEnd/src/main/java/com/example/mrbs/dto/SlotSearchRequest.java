@@ -0,0 +1,42 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Query parameters of the next-available search. Unset bounds default to the coming week from now,
+ * 09:00 to 18:00 on weekdays.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotSearchRequest {
+
+    private int durationMinutes;
+    private int minCapacity = 1;
+    private String location;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime fromDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime toDate;
+
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime workdayStart = LocalTime.of(9, 0);
+
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime workdayEnd = LocalTime.of(18, 0);
+
+    private boolean includeWeekends;
+
+    // Candidate starts are multiples of this many minutes after midnight
+    private int stepMinutes = 15;
+
+    private int limit = 5;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.mrbs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UtilizationRebuildReport {
+
+    private LocalDateTime rebuiltAt;
+    private long reservations;
+    private int hourlyRows;
+    private int dailyRows;
+    private long millis;
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.mrbs.event;
+
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the reservation write paths whenever a reservation is created or changed.
+ * {@code before} is null for newly created reservations.
+ */
+public record ReservationChangedEvent(Long reservationId, ReservationState before, ReservationState after) {
+
+    public record ReservationState(Long roomId, LocalDateTime startTime, LocalDateTime endTime,
+                                   ReservationStatus status) {
+
+        public static ReservationState of(Reservation reservation) {
+            return new ReservationState(reservation.getRoom().getId(), reservation.getStartTime(),
+                    reservation.getEndTime(), reservation.getStatus());
+        }
+
+        public boolean isConfirmed() {
+            return status == ReservationStatus.confirmed;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.mrbs.event;
+
+import java.util.Set;
+
+/**
+ * Published when finished reservations move between the live table and the archive. Nothing
+ * about the bookings changes, but lists read from the live table alone do.
+ */
+public record ReservationsArchivedEvent(Set<Long> roomIds, int count, boolean restored) {
+}
\ No newline at end of file
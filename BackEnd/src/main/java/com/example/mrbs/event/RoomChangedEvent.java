@@ -0,0 +1,19 @@
+package com.example.mrbs.event;
+
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomAvailability;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+
+/**
+ * Published by the room write paths. {@code before} is null for new rooms and {@code after} is
+ * null for deleted ones.
+ */
+public record RoomChangedEvent(Long roomId, RoomState before, RoomState after) {
+
+    public record RoomState(String name, RoomLocation location, Integer capacity, RoomAvailability availability) {
+
+        public static RoomState of(MeetingRoom room) {
+            return new RoomState(room.getName(), room.getLocation(), room.getCapacity(), room.getAvailability());
+        }
+    }
+}
\ No newline at end of file
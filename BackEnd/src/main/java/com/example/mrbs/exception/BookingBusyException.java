@@ -0,0 +1,17 @@
+package com.example.mrbs.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BookingBusyException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public BookingBusyException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.mrbs.model;
+
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished or cancelled reservation moved out of the live table by the archive job. Rows are
+ * only ever copied in and out with set-based statements; the id is the one it had when live.
+ */
+@Entity
+@Table(name = "reservations_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedReservation {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private MeetingRoom room;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private ReservationStatus status;
+
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.mrbs.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -36,15 +37,17 @@ public class MeetingRoom {
     @Column
     private RoomAvailability availability = RoomAvailability.Available;
 
-    @Column(columnDefinition = "TEXT")
-    private String description;
-
     @Column(columnDefinition = "TEXT")
     private String imageURL;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Moved in the database by every reservation write for the room; see ResourceVersions
+    @JsonIgnore
+    @Column(name = "schedule_version", nullable = false, insertable = false, updatable = false)
+    private long scheduleVersion;
+
     public enum RoomLocation {
         Hyderabad,
         @Column(name = "Pune, Wadgaonsheri")
@@ -17,15 +17,18 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Reservation {
 
+    // Pooled table ids instead of IDENTITY so Hibernate can batch inserts; V8 seeds the row for this allocationSize
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "reservation_ids")
+    @TableGenerator(name = "reservation_ids", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "reservations", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private MeetingRoom room;
 
@@ -47,6 +50,10 @@ public class Reservation {
     @Column
     private ReservationStatus status = ReservationStatus.confirmed;
 
+    // Set for occurrences of a recurring series
+    @Column(name = "series_id")
+    private Long seriesId;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -0,0 +1,84 @@
+package com.example.mrbs.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reservation_series")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "room_id", nullable = false)
+    private MeetingRoom room;
+
+    @NotBlank(message = "Title is required")
+    @Column(nullable = false)
+    private String title;
+
+    // Start and end of the first occurrence; later occurrences keep the same length
+    @NotNull(message = "Start time is required")
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time is required")
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frequency frequency;
+
+    @Min(value = 1, message = "Repeat interval must be at least 1")
+    @Column(name = "repeat_interval", nullable = false)
+    private Integer repeatInterval = 1;
+
+    // Exactly one of untilDate and occurrenceCount is set
+    @Column(name = "until_date")
+    private LocalDate untilDate;
+
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private SeriesStatus status = SeriesStatus.active;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public enum Frequency {
+        daily, weekly, monthly;
+
+        public LocalDateTime advance(LocalDateTime first, long steps) {
+            return switch (this) {
+                case daily -> first.plusDays(steps);
+                case weekly -> first.plusWeeks(steps);
+                // Counted from the first occurrence so a 31st clamps per month instead of drifting
+                case monthly -> first.plusMonths(steps);
+            };
+        }
+    }
+
+    public enum SeriesStatus {
+        active, cancelled
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.mrbs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One feedback entry for a room. Entries are only ever appended; the author is null for
+ * feedback given with a room edit or carried over from the old description column.
+ */
+@Entity
+@Table(name = "room_feedback")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomFeedback {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String feedback;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
\ No newline at end of file
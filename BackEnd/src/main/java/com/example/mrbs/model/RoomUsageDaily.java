@@ -0,0 +1,44 @@
+package com.example.mrbs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Usage of one room on one day. Rows are written through upserts, never loaded and saved.
+ */
+@Entity
+@Table(name = "room_usage_daily")
+@IdClass(RoomUsageDaily.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomUsageDaily {
+
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private long bookedMinutes;
+
+    @Column(nullable = false)
+    private int bookings;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long roomId;
+        private LocalDate bucketDate;
+    }
+}
\ No newline at end of file
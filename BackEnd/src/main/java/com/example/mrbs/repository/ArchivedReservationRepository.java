@@ -0,0 +1,122 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.model.ArchivedReservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.mrbs.repository.ReservationRepository.AFTER_CURSOR;
+import static com.example.mrbs.repository.ReservationRepository.BY_START_TIME;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+
+    // Same read model and keyset order as the live table, so pages of both can be merged
+    String VIEW = """
+        SELECT new com.example.mrbs.dto.ReservationView(
+            r.id, r.title, r.startTime, r.endTime, r.status, r.createdAt, r.seriesId,
+            u.id, u.name, u.email, m.id, m.name, m.location, m.capacity)
+        FROM ArchivedReservation r
+        JOIN r.user u
+        JOIN r.room m
+    """;
+
+    @Query(VIEW + "WHERE " + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPage(
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(VIEW + "WHERE u.email = :email AND " + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPageByUserEmail(
+            @Param("email") String email,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(VIEW + "WHERE m.id = :roomId AND " + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPageByRoomId(
+            @Param("roomId") Long roomId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(VIEW + "WHERE m.id = :roomId AND r.startTime >= :fromDate AND r.endTime <= :toDate AND "
+            + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPageByRoomIdAndDateRange(
+            @Param("roomId") Long roomId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT new com.example.mrbs.dto.ReservationSlot(r.id, r.room.id, r.startTime, r.endTime)
+        FROM ArchivedReservation r
+        WHERE r.status IN :statuses
+    """)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<ReservationSlot> streamSlotsByStatusIn(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    // Archived rows that ended in [fromDate, toDate), optionally of one room, locked for restoring
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.example.mrbs.dto.ReservationSlot(r.id, r.room.id, r.startTime, r.endTime)
+        FROM ArchivedReservation r
+        WHERE r.endTime >= :fromDate
+        AND r.endTime < :toDate
+        AND (:roomId IS NULL OR r.room.id = :roomId)
+        ORDER BY r.endTime, r.id
+    """)
+    List<ReservationSlot> lockEndedBetween(
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("roomId") Long roomId,
+            Limit limit
+    );
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO reservations_archive
+            (id, user_id, room_id, title, start_time, end_time, status, series_id, created_at, archived_at)
+        SELECT id, user_id, room_id, title, start_time, end_time, status, series_id, created_at, CURRENT_TIMESTAMP(6)
+        FROM reservations
+        WHERE id IN :ids
+    """, nativeQuery = true)
+    int copyFromLive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO reservations
+            (id, user_id, room_id, title, start_time, end_time, status, series_id, created_at)
+        SELECT id, user_id, room_id, title, start_time, end_time, status, series_id, created_at
+        FROM reservations_archive
+        WHERE id IN :ids
+    """, nativeQuery = true)
+    int copyToLive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedReservation r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.example.mrbs.repository;
 
+import com.example.mrbs.dto.RoomScheduleVersion;
 import com.example.mrbs.model.MeetingRoom;
 import com.example.mrbs.model.MeetingRoom.RoomAvailability;
 import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -33,4 +38,29 @@ public interface MeetingRoomRepository extends JpaRepository<MeetingRoom, Long>
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
+
+    // Room rows locked in id order until the booking transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m.id FROM MeetingRoom m WHERE m.id IN :ids ORDER BY m.id")
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE MeetingRoom m SET m.scheduleVersion = m.scheduleVersion + 1 WHERE m.id IN :ids")
+    int incrementScheduleVersions(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE MeetingRoom m SET m.scheduleVersion = m.scheduleVersion + 1")
+    int incrementAllScheduleVersions();
+
+    @Query("""
+        SELECT new com.example.mrbs.dto.RoomScheduleVersion(m.id, m.scheduleVersion)
+        FROM MeetingRoom m WHERE m.id IN :ids
+    """)
+    List<RoomScheduleVersion> findScheduleVersions(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT new com.example.mrbs.dto.RoomScheduleVersion(m.id, m.scheduleVersion)
+        FROM MeetingRoom m
+    """)
+    List<RoomScheduleVersion> findAllScheduleVersions();
 }
\ No newline at end of file
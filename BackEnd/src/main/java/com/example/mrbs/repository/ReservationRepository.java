@@ -1,14 +1,26 @@
 package com.example.mrbs.repository;
 
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.dto.ReservationView;
 import com.example.mrbs.model.Reservation;
 import com.example.mrbs.model.Reservation.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
@@ -21,6 +33,99 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     List<Reservation> findByStatus(ReservationStatus status);
 
+    // Read model: reservation columns plus user and room summaries in one join
+    String VIEW = """
+        SELECT new com.example.mrbs.dto.ReservationView(
+            r.id, r.title, r.startTime, r.endTime, r.status, r.createdAt, r.seriesId,
+            u.id, u.name, u.email, m.id, m.name, m.location, m.capacity)
+        FROM Reservation r
+        JOIN r.user u
+        JOIN r.room m
+    """;
+
+    // Keyset condition on (startTime, id); the first page starts from PageCursor.FIRST
+    String AFTER_CURSOR = """
+        (r.startTime > :startTime OR (r.startTime = :startTime AND r.id > :id))
+    """;
+
+    String BY_START_TIME = " ORDER BY r.startTime, r.id";
+
+    @Query(VIEW + BY_START_TIME)
+    List<ReservationView> findViews();
+
+    @Query(VIEW + "WHERE u.email = :email" + BY_START_TIME)
+    List<ReservationView> findViewsByUserEmail(@Param("email") String email);
+
+    @Query(VIEW + "WHERE m.id = :roomId" + BY_START_TIME)
+    List<ReservationView> findViewsByRoomId(@Param("roomId") Long roomId);
+
+    @Query(VIEW + "WHERE m.id = :roomId AND r.startTime >= :fromDate AND r.endTime <= :toDate" + BY_START_TIME)
+    List<ReservationView> findViewsByRoomIdAndDateRange(
+            @Param("roomId") Long roomId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate
+    );
+
+    @Query(VIEW + "WHERE r.seriesId = :seriesId AND r.status = 'confirmed'" + BY_START_TIME)
+    List<ReservationView> findConfirmedViewsBySeriesId(@Param("seriesId") Long seriesId);
+
+    @Query(VIEW + "WHERE " + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPage(
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(VIEW + "WHERE u.email = :email AND " + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPageByUserEmail(
+            @Param("email") String email,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(VIEW + "WHERE m.id = :roomId AND " + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPageByRoomId(
+            @Param("roomId") Long roomId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(VIEW + "WHERE m.id = :roomId AND r.startTime >= :fromDate AND r.endTime <= :toDate AND "
+            + AFTER_CURSOR + BY_START_TIME)
+    List<ReservationView> findViewPageByRoomIdAndDateRange(
+            @Param("roomId") Long roomId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(VIEW + "WHERE m.id IN :roomIds AND r.status = 'confirmed' AND r.startTime <= :to AND r.endTime >= :from"
+            + BY_START_TIME)
+    List<ReservationView> findConfirmedViewsOverlapping(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query(VIEW + BY_START_TIME)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<ReservationView> streamViews();
+
+    @Query("""
+        SELECT new com.example.mrbs.dto.ReservationSlot(r.id, r.room.id, r.startTime, r.endTime)
+        FROM Reservation r
+        WHERE r.status IN :statuses
+    """)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<ReservationSlot> streamSlotsByStatusIn(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    List<Reservation> findBySeriesIdAndStatusAndStartTimeAfterOrderByStartTime(
+            Long seriesId, ReservationStatus status, LocalDateTime startTime);
+
     @Query("""
         SELECT r FROM Reservation r 
         WHERE r.room.id = :roomId 
@@ -58,4 +163,61 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
+
+    @Query("""
+        SELECT new com.example.mrbs.dto.ReservationSlot(r.id, r.room.id, r.startTime, r.endTime)
+        FROM Reservation r
+        WHERE r.status = 'confirmed'
+    """)
+    List<ReservationSlot> findConfirmedSlots();
+
+    @Query("""
+        SELECT new com.example.mrbs.dto.ReservationSlot(r.id, r.room.id, r.startTime, r.endTime)
+        FROM Reservation r
+        WHERE r.room.id IN :roomIds
+        AND r.status = 'confirmed'
+        AND r.startTime <= :to
+        AND r.endTime >= :from
+    """)
+    List<ReservationSlot> findConfirmedSlotsOverlapping(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Oldest ended reservations first, locked until the completing transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.example.mrbs.dto.ReservationSlot(r.id, r.room.id, r.startTime, r.endTime)
+        FROM Reservation r
+        WHERE r.status = 'confirmed'
+        AND r.endTime < :cutoff
+        ORDER BY r.endTime, r.id
+    """)
+    List<ReservationSlot> lockConfirmedEndedBefore(
+            @Param("cutoff") LocalDateTime cutoff,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'completed' WHERE r.id IN :ids AND r.status = 'confirmed'")
+    int completeConfirmed(@Param("ids") Collection<Long> ids);
+
+    // Completed and cancelled reservations past the archive horizon, oldest first, locked until moved
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.example.mrbs.dto.ReservationSlot(r.id, r.room.id, r.startTime, r.endTime)
+        FROM Reservation r
+        WHERE r.status IN ('completed', 'cancelled')
+        AND r.endTime < :cutoff
+        ORDER BY r.endTime, r.id
+    """)
+    List<ReservationSlot> lockFinishedEndedBefore(
+            @Param("cutoff") LocalDateTime cutoff,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.model.ReservationSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, Long> {
+}
\ No newline at end of file
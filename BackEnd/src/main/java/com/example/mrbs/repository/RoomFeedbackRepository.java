@@ -0,0 +1,39 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.dto.RoomFeedbackView;
+import com.example.mrbs.model.RoomFeedback;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RoomFeedbackRepository extends JpaRepository<RoomFeedback, Long> {
+
+    String VIEW = """
+        SELECT new com.example.mrbs.dto.RoomFeedbackView(f.id, f.roomId, f.feedback, f.createdAt, u.id, u.name)
+        FROM RoomFeedback f
+        LEFT JOIN User u ON u.id = f.userId
+        WHERE f.roomId = :roomId
+    """;
+
+    String NEWEST_FIRST = " ORDER BY f.createdAt DESC, f.id DESC";
+
+    @Query(VIEW + NEWEST_FIRST)
+    List<RoomFeedbackView> findLatestViews(@Param("roomId") Long roomId, Limit limit);
+
+    // Keyset condition on (createdAt, id), walking backwards in time
+    @Query(VIEW + "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id))" + NEWEST_FIRST)
+    List<RoomFeedbackView> findViewsBefore(
+            @Param("roomId") Long roomId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    long countByRoomId(Long roomId);
+}
\ No newline at end of file
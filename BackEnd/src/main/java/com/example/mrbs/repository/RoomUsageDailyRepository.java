@@ -0,0 +1,42 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.dto.RoomUsageTotal;
+import com.example.mrbs.model.RoomUsageDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomUsageDailyRepository extends JpaRepository<RoomUsageDaily, RoomUsageDaily.Key> {
+
+    // Adds a delta to the bucket, creating it on first use
+    @Modifying
+    @Query(value = """
+        INSERT INTO room_usage_daily (room_id, bucket_date, booked_minutes, bookings)
+        VALUES (:roomId, :bucketDate, :minutes, :bookings)
+        ON DUPLICATE KEY UPDATE booked_minutes = booked_minutes + VALUES(booked_minutes),
+                                bookings = bookings + VALUES(bookings)
+    """, nativeQuery = true)
+    void addUsage(
+            @Param("roomId") Long roomId,
+            @Param("bucketDate") LocalDate bucketDate,
+            @Param("minutes") long minutes,
+            @Param("bookings") int bookings
+    );
+
+    @Query("""
+        SELECT new com.example.mrbs.dto.RoomUsageTotal(d.roomId, SUM(d.bookedMinutes), SUM(d.bookings))
+        FROM RoomUsageDaily d
+        WHERE d.bucketDate >= :from AND d.bucketDate <= :to
+        GROUP BY d.roomId
+    """)
+    List<RoomUsageTotal> sumByRoom(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.dto.HourOfDayUtilization;
+import com.example.mrbs.model.RoomUsageHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomUsageHourlyRepository extends JpaRepository<RoomUsageHourly, RoomUsageHourly.Key> {
+
+    // Adds a delta to the bucket, creating it on first use
+    @Modifying
+    @Query(value = """
+        INSERT INTO room_usage_hourly (room_id, bucket_start, booked_minutes, bookings)
+        VALUES (:roomId, :bucketStart, :minutes, :bookings)
+        ON DUPLICATE KEY UPDATE booked_minutes = booked_minutes + VALUES(booked_minutes),
+                                bookings = bookings + VALUES(bookings)
+    """, nativeQuery = true)
+    void addUsage(
+            @Param("roomId") Long roomId,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("minutes") long minutes,
+            @Param("bookings") int bookings
+    );
+
+    String BY_HOUR_OF_DAY = """
+        SELECT new com.example.mrbs.dto.HourOfDayUtilization(
+            EXTRACT(HOUR FROM h.bucketStart), SUM(h.bookedMinutes), SUM(h.bookings))
+        FROM RoomUsageHourly h
+        WHERE h.bucketStart >= :from AND h.bucketStart < :to
+    """;
+
+    String GROUP_BY_HOUR = """
+        GROUP BY EXTRACT(HOUR FROM h.bucketStart)
+        ORDER BY EXTRACT(HOUR FROM h.bucketStart)
+    """;
+
+    @Query(BY_HOUR_OF_DAY + GROUP_BY_HOUR)
+    List<HourOfDayUtilization> sumByHourOfDay(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query(BY_HOUR_OF_DAY + "AND h.roomId IN :roomIds " + GROUP_BY_HOUR)
+    List<HourOfDayUtilization> sumByHourOfDayForRooms(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Takes or extends the lease unless another owner holds it; uses the database clock
+    @Modifying
+    @Query(value = """
+        UPDATE scheduler_leases
+        SET owner = :owner, lease_until = TIMESTAMPADD(SECOND, :seconds, CURRENT_TIMESTAMP(6))
+        WHERE name = :name
+        AND (owner = :owner OR lease_until IS NULL OR lease_until < CURRENT_TIMESTAMP(6))
+    """, nativeQuery = true)
+    int acquire(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("seconds") long seconds
+    );
+
+    @Modifying
+    @Query(value = """
+        UPDATE scheduler_leases SET lease_until = NULL
+        WHERE name = :name AND owner = :owner
+    """, nativeQuery = true)
+    int release(
+            @Param("name") String name,
+            @Param("owner") String owner
+    );
+}
\ No newline at end of file
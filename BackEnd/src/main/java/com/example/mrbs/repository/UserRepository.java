@@ -1,6 +1,10 @@
 package com.example.mrbs.repository;
 
 import com.example.mrbs.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +16,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Boolean existsByEmail(String email);
+
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,313 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.AvailabilityEvent;
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationChangedEvent.ReservationState;
+import com.example.mrbs.event.RoomChangedEvent;
+import com.example.mrbs.event.RoomChangedEvent.RoomState;
+import com.example.mrbs.exception.SubscriberLimitException;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes committed availability changes to server-sent-event subscribers, so room boards need
+ * not poll. Connections are held by the servlet container's async support and cost no thread
+ * while idle; queued events are written by a small shared sender pool. Each subscriber has a
+ * bounded buffer: one that falls behind gets a {@code resync} event and is disconnected, and is
+ * expected to reload and subscribe again. Writes are blocking, so a subscriber whose send does
+ * not finish within {@code send-timeout-ms} is closed, which fails the write and frees the
+ * sender thread instead of letting stalled clients hold the whole pool.
+ */
+@Component
+public class AvailabilityEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityEventHub.class);
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${mrbs.availability-stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${mrbs.availability-stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${mrbs.availability-stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${mrbs.availability-stream.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${mrbs.availability-stream.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Admitted subscribers, reserved before a subscriber is added and released when it is removed
+    private final AtomicInteger admitted = new AtomicInteger();
+
+    private ExecutorService sender;
+
+    private ObjectWriter eventWriter;
+
+    @PostConstruct
+    void start() {
+        eventWriter = objectMapper.writerFor(AvailabilityEvent.class);
+        AtomicInteger threads = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdown();
+    }
+
+    /**
+     * Opens a stream of changes to the given rooms and to every room at the given location.
+     */
+    public SseEmitter subscribe(Collection<Long> roomIds, String location) {
+        boolean byIds = roomIds != null && !roomIds.isEmpty();
+        if (!byIds && location == null) {
+            throw new IllegalArgumentException("Specify roomIds or location");
+        }
+        // Catalog lookups; unknown ids fail with 404
+        Set<Long> ids = !byIds ? Set.of()
+                : roomIds.stream().map(id -> roomService.findById(id).getId()).collect(Collectors.toSet());
+        RoomLocation roomLocation = location == null ? null : parseLocation(location);
+        if (admitted.incrementAndGet() > maxSubscribers) {
+            admitted.decrementAndGet();
+            throw new SubscriberLimitException("Too many availability subscribers, try again later");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), ids, roomLocation, bufferSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().name("ready").data("{}").build());
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        ReservationState before = event.before();
+        ReservationState after = event.after();
+        // Completion only relabels a booking that has ended
+        if (before != null && before.isConfirmed() && after != null && after.status() == ReservationStatus.completed) {
+            return;
+        }
+        boolean confirmedAfter = after != null && after.isConfirmed();
+        // Freed: no longer confirmed, or moved to another room
+        if (before != null && before.isConfirmed()
+                && (!confirmedAfter || !before.roomId().equals(after.roomId()))) {
+            RoomLocation location = locationOf(before.roomId());
+            publish("reservation", before.roomId(), location, null, AvailabilityEvent.reservation(before.roomId(),
+                    location, event.reservationId(), before.startTime(), before.endTime(), false));
+        }
+        if (confirmedAfter) {
+            RoomLocation location = locationOf(after.roomId());
+            publish("reservation", after.roomId(), location, null, AvailabilityEvent.reservation(after.roomId(),
+                    location, event.reservationId(), after.startTime(), after.endTime(), true));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        RoomState before = event.before();
+        RoomState after = event.after();
+        RoomLocation previousLocation = before == null ? null : before.location();
+        AvailabilityEvent change = after == null
+                ? AvailabilityEvent.room(event.roomId(), previousLocation, before.name(), before.capacity(),
+                        before.availability(), true)
+                : AvailabilityEvent.room(event.roomId(), after.location(), after.name(), after.capacity(),
+                        after.availability(), false);
+        publish("room", event.roomId(), change.getLocation(), previousLocation, change);
+    }
+
+    @Scheduled(initialDelayString = "${mrbs.availability-stream.heartbeat-ms:15000}",
+            fixedDelayString = "${mrbs.availability-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> subscriber.offer(heartbeat));
+    }
+
+    /**
+     * Closes subscribers stuck in a write, so the container drops their connections.
+     */
+    @Scheduled(initialDelayString = "${mrbs.availability-stream.send-timeout-ms:5000}",
+            fixedDelayString = "${mrbs.availability-stream.send-timeout-ms:5000}")
+    public void closeStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isSendStalled(now, timeoutNanos)) {
+                log.debug("Closing availability subscriber after a send took over {} ms", sendTimeoutMillis);
+                subscriber.abort();
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            admitted.decrementAndGet();
+        }
+    }
+
+    private static RoomLocation parseLocation(String location) {
+        try {
+            return RoomLocation.valueOf(location.replace(" ", "_"));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid location: " + location);
+        }
+    }
+
+    private RoomLocation locationOf(Long roomId) {
+        MeetingRoom room = roomCatalog.byId(roomId);
+        return room == null ? null : room.getLocation();
+    }
+
+    private void publish(String name, Long roomId, RoomLocation location, RoomLocation previousLocation,
+                         AvailabilityEvent change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // Serialized once and shared by every subscriber
+        Set<DataWithMediaType> event;
+        try {
+            event = SseEmitter.event().name(name).data(eventWriter.writeValueAsString(change), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize availability event for room {}", roomId, e);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(roomId, location) || subscriber.matches(roomId, previousLocation)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> roomIds;
+        private final RoomLocation location;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closing;
+        private volatile long sendStartedAt;
+        private volatile boolean sending;
+
+        Subscriber(SseEmitter emitter, Set<Long> roomIds, RoomLocation location, int bufferSize) {
+            this.emitter = emitter;
+            this.roomIds = roomIds;
+            this.location = location;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean matches(Long roomId, RoomLocation roomLocation) {
+            return roomIds.contains(roomId) || (location != null && location == roomLocation);
+        }
+
+        boolean isSendStalled(long now, long timeoutNanos) {
+            return sending && now - sendStartedAt > timeoutNanos;
+        }
+
+        void abort() {
+            closing = true;
+            remove(this);
+            buffer.clear();
+            // Does not wait for the blocked send; the container ends the response and the write fails
+            emitter.completeWithError(new IOException("Availability subscriber stopped reading"));
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (closing) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Too far behind to catch up event by event
+                closing = true;
+                buffer.clear();
+                buffer.offer(SseEmitter.event().name("resync").data("{}").build());
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while ((event = buffer.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    sending = true;
+                    try {
+                        emitter.send(event);
+                    } finally {
+                        sending = false;
+                    }
+                }
+                if (closing) {
+                    remove(this);
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports the completion separately
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+    }
+}
\ No newline at end of file
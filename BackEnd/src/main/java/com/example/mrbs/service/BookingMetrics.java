@@ -0,0 +1,74 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.exception.BookingBusyException;
+import com.example.mrbs.exception.RoomNotAvailableException;
+import com.example.mrbs.model.MeetingRoom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Domain meters for the booking path: overlap-check latency by source and booking attempts by
+ * room, location and outcome.
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String OVERLAP_CHECK = "mrbs.booking.overlap.check";
+    public static final String ATTEMPTS = "mrbs.booking.attempts";
+
+    public enum Outcome {
+        booked, conflict, busy
+    }
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    public boolean timeOverlapCheck(boolean fromIndex, Supplier<Boolean> check) {
+        return Timer.builder(OVERLAP_CHECK)
+                .description("Time to decide whether a slot collides with a confirmed reservation")
+                .tag("source", fromIndex ? "index" : "database")
+                .register(registry)
+                .record(check);
+    }
+
+    /**
+     * Runs a booking for one room and counts its outcome; other failures (validation, missing
+     * rooms) are not booking attempts in this sense and are not counted.
+     */
+    public <T> T recordAttempt(Long roomId, Supplier<T> booking) {
+        try {
+            T result = booking.get();
+            record(roomId, Outcome.booked, 1);
+            return result;
+        } catch (RoomNotAvailableException e) {
+            record(roomId, Outcome.conflict, 1);
+            throw e;
+        } catch (BookingBusyException e) {
+            record(roomId, Outcome.busy, 1);
+            throw e;
+        }
+    }
+
+    public void record(Long roomId, Outcome outcome, long count) {
+        if (count == 0) {
+            return;
+        }
+        // Rooms come from the catalog, so tagging by location costs no query
+        MeetingRoom room = roomId == null ? null : roomCatalog.byId(roomId);
+        Counter.builder(ATTEMPTS)
+                .description("Booking attempts by room, location and outcome")
+                .tag("room", String.valueOf(roomId))
+                .tag("location", room == null ? "unknown" : room.getLocation().name())
+                .tag("outcome", outcome.name())
+                .register(registry)
+                .increment(count);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.FreeBusyResponse;
+import com.example.mrbs.dto.FreeBusyResponse.BusyReservation;
+import com.example.mrbs.dto.FreeBusyResponse.RoomBusy;
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.service.ReservationOverlapIndex.Interval;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Free/busy for a set of rooms in one call, for drawing a location's day grid. Busy ranges come
+ * from the overlap index when it is ready and from a single query otherwise; titles and
+ * organizers are only loaded when details are requested.
+ */
+@Service
+public class FreeBusyService {
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationOverlapIndex overlapIndex;
+
+    @Value("${mrbs.free-busy.max-days:31}")
+    private int maxDays;
+
+    @Value("${mrbs.free-busy.max-rooms:200}")
+    private int maxRooms;
+
+    public FreeBusyResponse findFreeBusy(Collection<Long> roomIds, String location,
+                                         LocalDateTime from, LocalDateTime to, boolean details) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxDays)) > 0) {
+            throw new IllegalArgumentException("Free/busy covers at most " + maxDays + " days");
+        }
+
+        List<Long> ids = resolveRooms(roomIds, location);
+        if (ids.size() > maxRooms) {
+            throw new IllegalArgumentException("Free/busy covers at most " + maxRooms + " rooms");
+        }
+
+        List<RoomBusy> rooms = new ArrayList<>(ids.size());
+        if (details) {
+            Map<Long, List<ReservationView>> byRoom = ids.isEmpty() ? Map.of()
+                    : reservationRepository.findConfirmedViewsOverlapping(ids, from, to).stream()
+                            .collect(Collectors.groupingBy(view -> view.getRoom().getId()));
+            for (Long roomId : ids) {
+                BusyRanges busy = new BusyRanges(from, to);
+                List<BusyReservation> reservations = new ArrayList<>();
+                for (ReservationView view : byRoom.getOrDefault(roomId, List.of())) {
+                    busy.add(view.getStartTime(), view.getEndTime());
+                    reservations.add(new BusyReservation(view.getId(), view.getTitle(), view.getUser().getName(),
+                            minutesFloor(from, view.getStartTime()), minutesCeil(from, view.getEndTime())));
+                }
+                rooms.add(busy.toRoomBusy(roomId, reservations));
+            }
+        } else if (overlapIndex.isAuthoritative()) {
+            for (Long roomId : ids) {
+                BusyRanges busy = new BusyRanges(from, to);
+                for (Interval interval : overlapIndex.schedule(roomId, from, to).intervals()) {
+                    busy.add(interval.startTime(), interval.endTime());
+                }
+                rooms.add(busy.toRoomBusy(roomId, null));
+            }
+        } else {
+            Map<Long, List<ReservationSlot>> byRoom = ids.isEmpty() ? Map.of()
+                    : reservationRepository.findConfirmedSlotsOverlapping(ids, from, to).stream()
+                            .sorted(Comparator.comparing(ReservationSlot::getStartTime))
+                            .collect(Collectors.groupingBy(ReservationSlot::getRoomId));
+            for (Long roomId : ids) {
+                BusyRanges busy = new BusyRanges(from, to);
+                for (ReservationSlot slot : byRoom.getOrDefault(roomId, List.of())) {
+                    busy.add(slot.getStartTime(), slot.getEndTime());
+                }
+                rooms.add(busy.toRoomBusy(roomId, null));
+            }
+        }
+        return new FreeBusyResponse(from, to, rooms);
+    }
+
+    private List<Long> resolveRooms(Collection<Long> roomIds, String location) {
+        boolean byIds = roomIds != null && !roomIds.isEmpty();
+        if (byIds == (location != null)) {
+            throw new IllegalArgumentException("Specify either roomIds or location");
+        }
+        if (location != null) {
+            return roomService.findRoomsByLocation(location).stream().map(MeetingRoom::getId).toList();
+        }
+        // Catalog lookups; unknown ids fail with 404
+        return roomIds.stream().distinct().map(id -> roomService.findById(id).getId()).toList();
+    }
+
+    private static int minutesFloor(LocalDateTime origin, LocalDateTime time) {
+        return (int) Math.floorDiv(Duration.between(origin, time).getSeconds(), 60);
+    }
+
+    private static int minutesCeil(LocalDateTime origin, LocalDateTime time) {
+        Duration offset = Duration.between(origin, time);
+        long seconds = offset.getNano() > 0 ? offset.getSeconds() + 1 : offset.getSeconds();
+        return (int) Math.floorDiv(seconds + 59, 60);
+    }
+
+    /**
+     * Accumulates intervals in start order, clipping them to the window and merging any that
+     * overlap or touch.
+     */
+    private static final class BusyRanges {
+
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int size;
+
+        BusyRanges(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void add(LocalDateTime startTime, LocalDateTime endTime) {
+            int start = minutesFloor(from, startTime.isBefore(from) ? from : startTime);
+            int end = minutesCeil(from, endTime.isAfter(to) ? to : endTime);
+            if (size > 0 && start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+                return;
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        RoomBusy toRoomBusy(Long roomId, List<BusyReservation> reservations) {
+            return new RoomBusy(roomId, Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), reservations);
+        }
+    }
+}
\ No newline at end of file
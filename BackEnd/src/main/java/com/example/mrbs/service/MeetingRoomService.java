@@ -1,53 +1,88 @@
 package com.example.mrbs.service;
 
+import com.example.mrbs.dto.RoomCatalogStats;
 import com.example.mrbs.dto.RoomDto;
+import com.example.mrbs.event.RoomChangedEvent;
+import com.example.mrbs.event.RoomChangedEvent.RoomState;
 import com.example.mrbs.exception.ResourceNotFoundException;
 import com.example.mrbs.model.MeetingRoom;
 import com.example.mrbs.model.MeetingRoom.RoomAvailability;
 import com.example.mrbs.model.MeetingRoom.RoomLocation;
 import com.example.mrbs.repository.MeetingRoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class MeetingRoomService {
 
+    private static final Logger log = LoggerFactory.getLogger(MeetingRoomService.class);
+
     @Autowired
     private MeetingRoomRepository roomRepository;
 
-    @Transactional(readOnly = true)
+    @Autowired
+    private RoomAvailabilityGrid availabilityGrid;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private RoomFeedbackService feedbackService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${mrbs.availability.engine:grid}")
+    private AvailabilityEngine availabilityEngine;
+
+    // Reads are served from the room catalog snapshot and need no transaction
     public List<MeetingRoom> findAllRooms() {
-        return roomRepository.findAll();
+        return roomCatalog.all();
     }
 
-    @Transactional(readOnly = true)
     public MeetingRoom findById(Long id) {
-        return roomRepository.findById(id)
+        MeetingRoom room = roomCatalog.byId(id);
+        if (room != null) {
+            return room;
+        }
+
+        // Created elsewhere since the snapshot was taken
+        room = roomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Meeting Room", "id", id));
+        roomCatalog.invalidate();
+        return room;
+    }
+
+    public List<MeetingRoom> findRoomsByIds(Collection<Long> ids) {
+        return roomCatalog.byIds(ids);
     }
 
-    @Transactional(readOnly = true)
     public List<MeetingRoom> findAvailableRooms() {
-        return roomRepository.findByAvailability(RoomAvailability.Available);
+        return roomCatalog.byAvailability(RoomAvailability.Available);
     }
 
-    @Transactional(readOnly = true)
     public List<MeetingRoom> findRoomsByLocation(String location) {
         try {
             RoomLocation roomLocation = RoomLocation.valueOf(location.replace(" ", "_"));
-            return roomRepository.findByLocation(roomLocation);
+            return roomCatalog.byLocation(roomLocation);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid location: " + location);
         }
     }
 
-    @Transactional(readOnly = true)
     public List<MeetingRoom> findRoomsByMinCapacity(int capacity) {
-        return roomRepository.findByMinCapacity(capacity);
+        return roomCatalog.withMinCapacity(capacity);
     }
 
     @Transactional(readOnly = true)
@@ -57,7 +92,20 @@ public class MeetingRoomService {
             throw new IllegalArgumentException("Start time must be before end time");
         }
 
-        return roomRepository.findAvailableRoomsForTimeSlot(startTime, endTime);
+        if (availabilityEngine == AvailabilityEngine.sql || !availabilityGrid.isReady()) {
+            return roomRepository.findAvailableRoomsForTimeSlot(startTime, endTime);
+        }
+
+        List<MeetingRoom> rooms = availabilityGrid.findAvailableRooms(roomCatalog.all(), startTime, endTime);
+        if (availabilityEngine == AvailabilityEngine.compare) {
+            List<MeetingRoom> expected = roomRepository.findAvailableRoomsForTimeSlot(startTime, endTime);
+            if (!roomIds(expected).equals(roomIds(rooms))) {
+                log.warn("Slot grid disagrees with SQL availability for {} - {}: grid={}, sql={}",
+                        startTime, endTime, roomIds(rooms), roomIds(expected));
+            }
+            return expected;
+        }
+        return rooms;
     }
 
     @Transactional
@@ -73,14 +121,18 @@ public class MeetingRoomService {
 
         room.setCapacity(roomDto.getCapacity());
         room.setAvailability(RoomAvailability.Available);
-        room.setDescription(roomDto.getFeedback());
 
-        return roomRepository.save(room);
+        MeetingRoom saved = roomRepository.save(room);
+        appendFeedback(saved.getId(), roomDto.getFeedback());
+        roomCatalog.invalidate();
+        eventPublisher.publishEvent(new RoomChangedEvent(saved.getId(), null, RoomState.of(saved)));
+        return saved;
     }
 
     @Transactional
     public MeetingRoom updateRoom(Long id, RoomDto roomDto) {
-        MeetingRoom room = findById(id);
+        MeetingRoom room = loadRoom(id);
+        RoomState before = RoomState.of(room);
 
         room.setName(roomDto.getName());
 
@@ -100,28 +152,44 @@ public class MeetingRoomService {
             }
         }
 
-        if (roomDto.getFeedback() != null) {
-            room.setDescription(roomDto.getFeedback());
-        }
-
-        return roomRepository.save(room);
+        MeetingRoom saved = roomRepository.save(room);
+        appendFeedback(id, roomDto.getFeedback());
+        roomCatalog.invalidate();
+        eventPublisher.publishEvent(new RoomChangedEvent(saved.getId(), before, RoomState.of(saved)));
+        return saved;
     }
 
     @Transactional
-    public MeetingRoom addFeedback(Long id, String description) {
-        MeetingRoom room = findById(id);
+    public void deleteRoom(Long id) {
+        MeetingRoom room = loadRoom(id);
+        RoomState before = RoomState.of(room);
+        roomRepository.delete(room);
+        roomCatalog.invalidate();
+        eventPublisher.publishEvent(new RoomChangedEvent(id, before, null));
+    }
+
+    public RoomCatalogStats getCatalogStats() {
+        return roomCatalog.stats();
+    }
 
-        // Append new feedback to existing feedback with timestamp
-        String timestamp = LocalDateTime.now().toString();
-        String newDescription = timestamp + ": " + description;
+    // Feedback sent with a room edit becomes an entry of its own
+    private void appendFeedback(Long roomId, String feedback) {
+        if (feedback != null && !feedback.isBlank()) {
+            feedbackService.append(roomId, null, feedback);
+        }
+    }
+
+    // Writes work on a managed copy; catalog rooms are shared
+    private MeetingRoom loadRoom(Long id) {
+        return roomRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Meeting Room", "id", id));
+    }
 
-        room.setDescription(newDescription);
-        return roomRepository.save(room);
+    private Set<Long> roomIds(List<MeetingRoom> rooms) {
+        return rooms.stream().map(MeetingRoom::getId).collect(Collectors.toSet());
     }
 
-    @Transactional
-    public void deleteRoom(Long id) {
-        MeetingRoom room = findById(id);
-        roomRepository.delete(room);
+    public enum AvailabilityEngine {
+        grid, sql, compare
     }
 }
\ No newline at end of file
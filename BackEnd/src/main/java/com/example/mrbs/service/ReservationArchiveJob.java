@@ -0,0 +1,181 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ArchiveRestoreReport;
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.event.ReservationsArchivedEvent;
+import com.example.mrbs.exception.BookingBusyException;
+import com.example.mrbs.repository.ArchivedReservationRepository;
+import com.example.mrbs.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Moves completed and cancelled reservations that ended more than {@code horizon-days} ago into
+ * {@code reservations_archive}, so the live table, its indexes and every hot query over it only
+ * cover recent history. Each chunk of {@code batch-size} rows is locked, copied with one
+ * INSERT ... SELECT, deleted by id and committed on its own; the moved rows keep their ids.
+ * Shares the lease pattern of {@link ReservationCompletionJob}, and restores take the same lease.
+ */
+@Component
+public class ReservationArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationArchiveJob.class);
+
+    static final String LEASE = "reservation-archive";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archiveRepository;
+
+    @Autowired
+    private SchedulerLeases leases;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${mrbs.reservation-archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mrbs.reservation-archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${mrbs.reservation-archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${mrbs.reservation-archive.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private Counter archived;
+    private Counter restored;
+    private Counter skipped;
+    private Timer runs;
+
+    @PostConstruct
+    void registerMeters() {
+        archived = Counter.builder("mrbs.reservation.archive.archived")
+                .description("Reservations moved to the archive")
+                .register(registry);
+        restored = Counter.builder("mrbs.reservation.archive.restored")
+                .description("Reservations moved back from the archive")
+                .register(registry);
+        skipped = Counter.builder("mrbs.reservation.archive.skipped")
+                .description("Runs skipped because another node held the lease")
+                .register(registry);
+        runs = Timer.builder("mrbs.reservation.archive.runs")
+                .description("Duration of archive runs on this node")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${mrbs.reservation-archive.interval-ms:3600000}",
+            fixedDelayString = "${mrbs.reservation-archive.interval-ms:3600000}")
+    public void run() {
+        if (enabled) {
+            archiveEndedBefore(LocalDateTime.now().minusDays(horizonDays));
+        }
+    }
+
+    /**
+     * Archives every completed or cancelled reservation that ended before {@code cutoff}; returns
+     * how many were moved, or -1 when another node holds the lease.
+     */
+    public long archiveEndedBefore(LocalDateTime cutoff) {
+        if (!leases.tryAcquire(LEASE, Duration.ofSeconds(leaseSeconds))) {
+            skipped.increment();
+            return -1;
+        }
+        long total = runs.record(() -> moveInChunks(() -> archiveChunk(cutoff)));
+        archived.increment(total);
+        if (total > 0) {
+            log.info("Archived {} reservations that ended before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * Moves archived reservations that ended in {@code [fromDate, toDate)} back to the live table,
+     * optionally for one room only. Rows still past the horizon are archived again by the next
+     * run, so raise {@code horizon-days} first when restoring for good.
+     */
+    public ArchiveRestoreReport restore(LocalDateTime fromDate, LocalDateTime toDate, Long roomId) {
+        if (!fromDate.isBefore(toDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (!leases.tryAcquire(LEASE, Duration.ofSeconds(leaseSeconds))) {
+            throw new BookingBusyException("The reservation archive is being updated, try again later");
+        }
+        long total = moveInChunks(() -> restoreChunk(fromDate, toDate, roomId));
+        restored.increment(total);
+        log.info("Restored {} archived reservations that ended between {} and {}", total, fromDate, toDate);
+        return new ArchiveRestoreReport(fromDate, toDate, roomId, total);
+    }
+
+    // Runs chunks until one comes back short, renewing the lease before each; releases it at the end
+    private long moveInChunks(Supplier<Integer> chunk) {
+        long total = 0;
+        try {
+            while (true) {
+                Integer moved = transactionTemplate.execute(status -> chunk.get());
+                total += moved;
+                if (moved < batchSize || !leases.tryAcquire(LEASE, Duration.ofSeconds(leaseSeconds))) {
+                    return total;
+                }
+            }
+        } finally {
+            leases.release(LEASE);
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<ReservationSlot> chunk = reservationRepository.lockFinishedEndedBefore(cutoff, Limit.of(batchSize));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = chunk.stream().map(ReservationSlot::getReservationId).toList();
+        archiveRepository.copyFromLive(ids);
+        reservationRepository.deleteByIds(ids);
+        eventPublisher.publishEvent(new ReservationsArchivedEvent(roomIds(chunk), chunk.size(), false));
+        return chunk.size();
+    }
+
+    private int restoreChunk(LocalDateTime fromDate, LocalDateTime toDate, Long roomId) {
+        List<ReservationSlot> chunk = archiveRepository.lockEndedBetween(fromDate, toDate, roomId, Limit.of(batchSize));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = chunk.stream().map(ReservationSlot::getReservationId).toList();
+        archiveRepository.copyToLive(ids);
+        archiveRepository.deleteByIds(ids);
+        eventPublisher.publishEvent(new ReservationsArchivedEvent(roomIds(chunk), chunk.size(), true));
+        return chunk.size();
+    }
+
+    private static Set<Long> roomIds(List<ReservationSlot> chunk) {
+        return chunk.stream().map(ReservationSlot::getRoomId).collect(Collectors.toSet());
+    }
+}
\ No newline at end of file
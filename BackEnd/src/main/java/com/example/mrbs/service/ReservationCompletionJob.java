@@ -0,0 +1,153 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationChangedEvent.ReservationState;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves confirmed reservations that have ended to {@code completed}, so the confirmed set that
+ * overlap checks and availability searches filter on stays small. Works in chunks of
+ * {@code batch-size} rows, each locked, updated by id and committed on its own, and publishes the
+ * usual change events so the overlap index and caches follow. A database lease keeps the job to
+ * one node at a time.
+ */
+@Component
+public class ReservationCompletionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationCompletionJob.class);
+
+    static final String LEASE = "reservation-completion";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SchedulerLeases leases;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${mrbs.reservation-completion.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mrbs.reservation-completion.batch-size:500}")
+    private int batchSize;
+
+    // Renewed before every chunk, so it only has to outlast one
+    @Value("${mrbs.reservation-completion.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private Counter completed;
+    private Counter chunks;
+    private Counter skipped;
+    private Timer runs;
+    private final AtomicLong lastCompletedRun = new AtomicLong();
+
+    @PostConstruct
+    void registerMeters() {
+        completed = Counter.builder("mrbs.reservation.completion.completed")
+                .description("Reservations moved to completed")
+                .register(registry);
+        chunks = Counter.builder("mrbs.reservation.completion.chunks")
+                .description("Committed completion chunks")
+                .register(registry);
+        skipped = Counter.builder("mrbs.reservation.completion.skipped")
+                .description("Runs skipped because another node held the lease")
+                .register(registry);
+        runs = Timer.builder("mrbs.reservation.completion.runs")
+                .description("Duration of completion runs on this node")
+                .register(registry);
+        Gauge.builder("mrbs.reservation.completion.last.run", lastCompletedRun, AtomicLong::get)
+                .description("Epoch seconds at which this node last finished a completion run")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${mrbs.reservation-completion.interval-ms:300000}",
+            fixedDelayString = "${mrbs.reservation-completion.interval-ms:300000}")
+    public void run() {
+        if (enabled) {
+            completeEnded(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Completes every confirmed reservation that ended before {@code cutoff}; returns how many
+     * were moved, or -1 when another node holds the lease.
+     */
+    public long completeEnded(LocalDateTime cutoff) {
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        if (!leases.tryAcquire(LEASE, lease)) {
+            skipped.increment();
+            return -1;
+        }
+        long started = System.nanoTime();
+        long total = 0;
+        try {
+            while (true) {
+                Integer moved = transactionTemplate.execute(status -> completeChunk(cutoff));
+                if (moved > 0) {
+                    completed.increment(moved);
+                    chunks.increment();
+                    total += moved;
+                }
+                if (moved < batchSize || !leases.tryAcquire(LEASE, lease)) {
+                    break;
+                }
+            }
+        } finally {
+            leases.release(LEASE);
+            runs.record(Duration.ofNanos(System.nanoTime() - started));
+            lastCompletedRun.set(System.currentTimeMillis() / 1000);
+        }
+        if (total > 0) {
+            log.info("Completed {} reservations that ended before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int completeChunk(LocalDateTime cutoff) {
+        List<ReservationSlot> chunk = reservationRepository.lockConfirmedEndedBefore(cutoff, Limit.of(batchSize));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        // The rows are locked, so all of them flip
+        reservationRepository.completeConfirmed(chunk.stream().map(ReservationSlot::getReservationId).toList());
+        for (ReservationSlot slot : chunk) {
+            eventPublisher.publishEvent(new ReservationChangedEvent(slot.getReservationId(),
+                    state(slot, ReservationStatus.confirmed), state(slot, ReservationStatus.completed)));
+        }
+        return chunk.size();
+    }
+
+    private static ReservationState state(ReservationSlot slot, ReservationStatus status) {
+        return new ReservationState(slot.getRoomId(), slot.getStartTime(), slot.getEndTime(), status);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.IndexConsistencyReport;
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares {@link ReservationOverlapIndex} with the confirmed reservations in the database
+ * and rebuilds the index when the two have drifted apart.
+ */
+@Component
+public class ReservationIndexVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationIndexVerifier.class);
+
+    @Autowired
+    private ReservationOverlapIndex overlapIndex;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Scheduled(initialDelayString = "${mrbs.reservation-index.verify-interval-ms:300000}",
+            fixedDelayString = "${mrbs.reservation-index.verify-interval-ms:300000}")
+    public void scheduledVerify() {
+        if (overlapIndex.isReady()) {
+            verify(true);
+        }
+    }
+
+    public IndexConsistencyReport verify(boolean repair) {
+        long modCountBefore = overlapIndex.modCount();
+        List<ReservationSlot> database = reservationRepository.findConfirmedSlots();
+        Map<Long, ReservationSlot> indexed = overlapIndex.snapshot();
+
+        // A booking committed while we were reading makes the comparison meaningless
+        boolean conclusive = modCountBefore == overlapIndex.modCount();
+
+        List<Long> missing = new ArrayList<>();
+        List<Long> mismatched = new ArrayList<>();
+        for (ReservationSlot slot : database) {
+            ReservationSlot entry = indexed.remove(slot.getReservationId());
+            if (entry == null) {
+                missing.add(slot.getReservationId());
+            } else if (!sameSlot(slot, entry)) {
+                mismatched.add(slot.getReservationId());
+            }
+        }
+        List<Long> stale = new ArrayList<>(indexed.keySet());
+
+        IndexConsistencyReport report = new IndexConsistencyReport(LocalDateTime.now(), conclusive,
+                database.size(), overlapIndex.size(), missing, stale, mismatched, false);
+
+        if (conclusive && !report.isConsistent()) {
+            log.warn("Reservation overlap index out of sync: {} missing, {} stale, {} mismatched",
+                    missing.size(), stale.size(), mismatched.size());
+            if (repair) {
+                overlapIndex.rebuild();
+                report.setRebuilt(true);
+            }
+        }
+        return report;
+    }
+
+    private boolean sameSlot(ReservationSlot a, ReservationSlot b) {
+        return Objects.equals(a.getRoomId(), b.getRoomId())
+                && Objects.equals(a.getStartTime(), b.getStartTime())
+                && Objects.equals(a.getEndTime(), b.getEndTime());
+    }
+}
\ No newline at end of file
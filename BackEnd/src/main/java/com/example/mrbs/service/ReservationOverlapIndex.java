@@ -0,0 +1,245 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationChangedEvent.ReservationState;
+import com.example.mrbs.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of confirmed reservations, one sorted interval set per room.
+ * Answers the same question as {@link ReservationRepository#existsOverlappingReservation}
+ * (inclusive bounds) without a database round trip. The index is warmed from the
+ * repository at startup and kept current from {@link ReservationChangedEvent}s after commit.
+ * Only this node's commits reach it, so with {@code mrbs.booking.multi-node} set it is not
+ * authoritative and every reader falls back to the database.
+ */
+@Component
+public class ReservationOverlapIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationOverlapIndex.class);
+
+    private static final Comparator<Interval> ORDER =
+            Comparator.comparing(Interval::startTime).thenComparing(Interval::reservationId);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Value("${mrbs.reservation-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mrbs.booking.multi-node:false}")
+    private boolean multiNode;
+
+    // Shared by lookups and incremental updates, exclusive while the index is rebuilt
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private final Map<Long, RoomTimeline> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Interval> byReservationId = new ConcurrentHashMap<>();
+    private final AtomicLong modCount = new AtomicLong();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Whether conflict checks and availability reads may be answered from the index instead of
+     * the database: it is built, and no other node books against the same database.
+     */
+    public boolean isAuthoritative() {
+        return isReady() && !multiNode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            long started = System.nanoTime();
+            List<ReservationSlot> slots = reservationRepository.findConfirmedSlots();
+
+            rooms.clear();
+            byReservationId.clear();
+            for (ReservationSlot slot : slots) {
+                insert(new Interval(slot.getReservationId(), slot.getRoomId(), slot.getStartTime(), slot.getEndTime()));
+            }
+            modCount.incrementAndGet();
+            ready = true;
+
+            log.info("Reservation overlap index built with {} reservations across {} rooms in {} ms",
+                    slots.size(), rooms.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public boolean overlaps(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return overlaps(roomId, startTime, endTime, null);
+    }
+
+    public boolean overlaps(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+        rebuildLock.readLock().lock();
+        try {
+            RoomTimeline timeline = rooms.get(roomId);
+            return timeline != null && timeline.overlaps(startTime, endTime, excludeReservationId);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        apply(event.reservationId(), event.after());
+    }
+
+    public void apply(Long reservationId, ReservationState state) {
+        rebuildLock.readLock().lock();
+        try {
+            Interval previous = byReservationId.remove(reservationId);
+            if (previous != null) {
+                rooms.get(previous.roomId()).remove(previous);
+            }
+            if (state != null && state.isConfirmed()) {
+                insert(new Interval(reservationId, state.roomId(), state.startTime(), state.endTime()));
+            }
+            modCount.incrementAndGet();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Confirmed reservations of a room touching [from, to], ordered by start time, together with
+     * the room's version so callers can cache derived data and detect later changes.
+     */
+    public RoomSchedule schedule(Long roomId, LocalDateTime from, LocalDateTime to) {
+        rebuildLock.readLock().lock();
+        try {
+            RoomTimeline timeline = rooms.get(roomId);
+            if (timeline == null) {
+                return new RoomSchedule(0, List.of());
+            }
+            return timeline.schedule(from, to);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public long roomVersion(Long roomId) {
+        RoomTimeline timeline = rooms.get(roomId);
+        return timeline == null ? 0 : timeline.version;
+    }
+
+    public long modCount() {
+        return modCount.get();
+    }
+
+    public int size() {
+        return byReservationId.size();
+    }
+
+    public Map<Long, ReservationSlot> snapshot() {
+        rebuildLock.readLock().lock();
+        try {
+            Map<Long, ReservationSlot> copy = new HashMap<>(byReservationId.size());
+            byReservationId.forEach((id, interval) -> copy.put(id,
+                    new ReservationSlot(id, interval.roomId(), interval.startTime(), interval.endTime())));
+            return copy;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void insert(Interval interval) {
+        byReservationId.put(interval.reservationId(), interval);
+        rooms.computeIfAbsent(interval.roomId(), id -> new RoomTimeline()).add(interval);
+    }
+
+    record Interval(Long reservationId, Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    record RoomSchedule(long version, List<Interval> intervals) {
+    }
+
+    private final class RoomTimeline {
+
+        private final TreeSet<Interval> intervals = new TreeSet<>(ORDER);
+
+        // Longest interval ever stored; bounds how far back a lookup has to walk
+        private Duration longest = Duration.ZERO;
+
+        // Drawn from the index-wide modCount so versions stay unique across rebuilds
+        private volatile long version = modCount.incrementAndGet();
+
+        synchronized void add(Interval interval) {
+            version = modCount.incrementAndGet();
+            intervals.add(interval);
+            Duration length = Duration.between(interval.startTime(), interval.endTime());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+
+        synchronized void remove(Interval interval) {
+            version = modCount.incrementAndGet();
+            intervals.remove(interval);
+        }
+
+        synchronized RoomSchedule schedule(LocalDateTime from, LocalDateTime to) {
+            Interval lower = new Interval(Long.MIN_VALUE, null, from.minus(longest), null);
+            Interval upper = new Interval(Long.MAX_VALUE, null, to, null);
+
+            List<Interval> touching = new ArrayList<>();
+            for (Interval candidate : intervals.subSet(lower, true, upper, true)) {
+                if (!candidate.endTime().isBefore(from)) {
+                    touching.add(candidate);
+                }
+            }
+            return new RoomSchedule(version, touching);
+        }
+
+        synchronized boolean overlaps(LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+            Interval probe = new Interval(Long.MAX_VALUE, null, endTime, endTime);
+            LocalDateTime horizon = startTime.minus(longest);
+
+            // Walk back from the last interval starting at or before endTime
+            for (Interval candidate : intervals.headSet(probe, true).descendingSet()) {
+                if (candidate.startTime().isBefore(horizon)) {
+                    return false;
+                }
+                if (!candidate.endTime().isBefore(startTime)
+                        && !candidate.reservationId().equals(excludeReservationId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
\ No newline at end of file
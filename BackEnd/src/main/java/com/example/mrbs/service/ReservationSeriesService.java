@@ -0,0 +1,340 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationSeriesDto;
+import com.example.mrbs.dto.ReservationSeriesResponse;
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationChangedEvent.ReservationState;
+import com.example.mrbs.exception.ResourceNotFoundException;
+import com.example.mrbs.exception.RoomNotAvailableException;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.ReservationSeries;
+import com.example.mrbs.model.ReservationSeries.SeriesStatus;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.repository.ReservationSeriesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring reservations. A series is expanded into one {@link Reservation} per occurrence, all
+ * occurrences are checked against the room's bookings in a single pass, and the rows are written
+ * with batched inserts and updates. Edits and cancellations apply to the occurrences that have
+ * not started yet.
+ */
+@Service
+public class ReservationSeriesService {
+
+    @Autowired
+    private ReservationSeriesRepository seriesRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Autowired
+    private ReservationOverlapIndex overlapIndex;
+
+    @Autowired
+    private RoomLockStripes roomLocks;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${mrbs.series.max-occurrences:200}")
+    private int maxOccurrences;
+
+    @Transactional(readOnly = true)
+    public ReservationSeries findById(Long id) {
+        return seriesRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation series", "id", id));
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationSeriesResponse findSeries(Long id, String userEmail) {
+        ReservationSeries series = findById(id);
+        User user = userService.findByEmail(userEmail);
+
+        // Check if the series belongs to the user or user is admin
+        if (!series.getUser().getId().equals(user.getId()) &&
+                !user.getRole().equals(User.UserRole.admin)) {
+            throw new IllegalArgumentException("You don't have permission to view this reservation series");
+        }
+        return new ReservationSeriesResponse(series, reservationRepository.findConfirmedViewsBySeriesId(id));
+    }
+
+    public ReservationSeriesResponse createSeries(String userEmail, ReservationSeriesDto seriesDto) {
+        return bookingMetrics.recordAttempt(seriesDto.getRoomId(), () ->
+                roomLocks.withRoomLocks(List.of(seriesDto.getRoomId()), contended ->
+                        transactionTemplate.execute(status -> bookSeries(userEmail, seriesDto))));
+    }
+
+    private ReservationSeriesResponse bookSeries(String userEmail, ReservationSeriesDto seriesDto) {
+        roomLocks.lockRoomRows(List.of(seriesDto.getRoomId()));
+        User user = userService.findByEmail(userEmail);
+        MeetingRoom room = roomService.findById(seriesDto.getRoomId());
+
+        LocalDateTime now = LocalDateTime.now();
+        if (seriesDto.getStartTime().isBefore(now)) {
+            throw new IllegalArgumentException("Start time cannot be in the past");
+        }
+
+        ReservationSeries series = new ReservationSeries();
+        series.setUser(user);
+        applyDetails(series, room, seriesDto);
+
+        List<Occurrence> occurrences = expand(series, now);
+        checkAvailability(room.getId(), occurrences, Set.of());
+
+        ReservationSeries saved = seriesRepository.save(series);
+        List<Reservation> reservations = new ArrayList<>(occurrences.size());
+        for (Occurrence occurrence : occurrences) {
+            reservations.add(newOccurrence(saved, occurrence));
+        }
+
+        List<Reservation> savedReservations = reservationRepository.saveAll(reservations);
+        savedReservations.forEach(reservation -> publishChange(reservation, null));
+        return new ReservationSeriesResponse(saved, savedReservations.stream().map(ReservationView::of).toList());
+    }
+
+    public ReservationSeriesResponse updateSeries(Long id, String userEmail, ReservationSeriesDto seriesDto) {
+        // Moving occurrences out of a room cannot create a conflict there, so only the target room is locked
+        return bookingMetrics.recordAttempt(seriesDto.getRoomId(), () ->
+                roomLocks.withRoomLocks(List.of(seriesDto.getRoomId()), contended ->
+                        transactionTemplate.execute(status -> rebookSeries(id, userEmail, seriesDto))));
+    }
+
+    private ReservationSeriesResponse rebookSeries(Long id, String userEmail, ReservationSeriesDto seriesDto) {
+        roomLocks.lockRoomRows(List.of(seriesDto.getRoomId()));
+        ReservationSeries series = findById(id);
+        User user = userService.findByEmail(userEmail);
+
+        if (!series.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("You don't have permission to update this reservation series");
+        }
+        if (series.getStatus() == SeriesStatus.cancelled) {
+            throw new IllegalArgumentException("Reservation series has been cancelled");
+        }
+
+        MeetingRoom room = roomService.findById(seriesDto.getRoomId());
+        applyDetails(series, room, seriesDto);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Occurrence> occurrences = expand(series, now);
+        List<Reservation> upcoming = reservationRepository.findBySeriesIdAndStatusAndStartTimeAfterOrderByStartTime(
+                id, ReservationStatus.confirmed, now);
+
+        // The occurrences being replaced cannot conflict with their replacements
+        Set<Long> replaced = upcoming.stream().map(Reservation::getId).collect(Collectors.toSet());
+        checkAvailability(room.getId(), occurrences, replaced);
+
+        // Reuse the existing rows in order, insert any extra occurrences and cancel the rest
+        List<Reservation> changed = new ArrayList<>();
+        List<ReservationState> before = new ArrayList<>();
+        List<Reservation> added = new ArrayList<>();
+        for (int k = 0; k < Math.max(occurrences.size(), upcoming.size()); k++) {
+            if (k >= occurrences.size()) {
+                Reservation leftover = upcoming.get(k);
+                before.add(ReservationState.of(leftover));
+                leftover.setStatus(ReservationStatus.cancelled);
+                changed.add(leftover);
+            } else if (k >= upcoming.size()) {
+                added.add(newOccurrence(series, occurrences.get(k)));
+            } else {
+                Reservation reservation = upcoming.get(k);
+                before.add(ReservationState.of(reservation));
+                reservation.setRoom(room);
+                reservation.setTitle(series.getTitle());
+                reservation.setStartTime(occurrences.get(k).startTime());
+                reservation.setEndTime(occurrences.get(k).endTime());
+                changed.add(reservation);
+            }
+        }
+
+        seriesRepository.save(series);
+        reservationRepository.saveAll(changed);
+        List<Reservation> savedAdded = reservationRepository.saveAll(added);
+        for (int k = 0; k < changed.size(); k++) {
+            publishChange(changed.get(k), before.get(k));
+        }
+        savedAdded.forEach(reservation -> publishChange(reservation, null));
+
+        List<Reservation> current = new ArrayList<>(changed.subList(0, Math.min(changed.size(), occurrences.size())));
+        current.addAll(savedAdded);
+        return new ReservationSeriesResponse(series, current.stream().map(ReservationView::of).toList());
+    }
+
+    public void cancelSeries(Long id, String userEmail) {
+        // Freed slots leave the overlap index after commit, so this is ordered with bookings like an edit
+        Long roomId = findById(id).getRoom().getId();
+        roomLocks.withRoomLocks(List.of(roomId), contended -> {
+            transactionTemplate.executeWithoutResult(status -> cancelOccurrences(id, userEmail));
+            return null;
+        });
+    }
+
+    private void cancelOccurrences(Long id, String userEmail) {
+        ReservationSeries series = findById(id);
+        User user = userService.findByEmail(userEmail);
+
+        // Check if the series belongs to the user or user is admin
+        if (!series.getUser().getId().equals(user.getId()) &&
+                !user.getRole().equals(User.UserRole.admin)) {
+            throw new IllegalArgumentException("You don't have permission to cancel this reservation series");
+        }
+
+        series.setStatus(SeriesStatus.cancelled);
+        seriesRepository.save(series);
+
+        List<Reservation> upcoming = reservationRepository.findBySeriesIdAndStatusAndStartTimeAfterOrderByStartTime(
+                id, ReservationStatus.confirmed, LocalDateTime.now());
+        List<ReservationState> before = new ArrayList<>(upcoming.size());
+        for (Reservation reservation : upcoming) {
+            before.add(ReservationState.of(reservation));
+            reservation.setStatus(ReservationStatus.cancelled);
+        }
+        reservationRepository.saveAll(upcoming);
+        for (int k = 0; k < upcoming.size(); k++) {
+            publishChange(upcoming.get(k), before.get(k));
+        }
+    }
+
+    private void applyDetails(ReservationSeries series, MeetingRoom room, ReservationSeriesDto seriesDto) {
+        series.setRoom(room);
+        series.setTitle(seriesDto.getTitle());
+        series.setStartTime(seriesDto.getStartTime());
+        series.setEndTime(seriesDto.getEndTime());
+        series.setFrequency(seriesDto.getFrequency());
+        series.setRepeatInterval(seriesDto.getRepeatInterval() == null ? 1 : seriesDto.getRepeatInterval());
+        series.setUntilDate(seriesDto.getUntilDate());
+        series.setOccurrenceCount(seriesDto.getOccurrenceCount());
+    }
+
+    /**
+     * Occurrences of the series starting at or after {@code notBefore}, in order. The whole rule is
+     * walked from the first occurrence so an occurrence count includes occurrences already past.
+     */
+    private List<Occurrence> expand(ReservationSeries series, LocalDateTime notBefore) {
+        if (series.getStartTime().isAfter(series.getEndTime())) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        if ((series.getUntilDate() == null) == (series.getOccurrenceCount() == null)) {
+            throw new IllegalArgumentException("Either an end date or an occurrence count is required");
+        }
+
+        Duration length = Duration.between(series.getStartTime(), series.getEndTime());
+        List<Occurrence> occurrences = new ArrayList<>();
+        LocalDateTime previousEnd = null;
+        for (int k = 0; series.getOccurrenceCount() == null || k < series.getOccurrenceCount(); k++) {
+            LocalDateTime startTime = series.getFrequency().advance(
+                    series.getStartTime(), (long) k * series.getRepeatInterval());
+            if (series.getUntilDate() != null && startTime.toLocalDate().isAfter(series.getUntilDate())) {
+                break;
+            }
+            if (k >= maxOccurrences) {
+                throw new IllegalArgumentException(
+                        "A reservation series cannot have more than " + maxOccurrences + " occurrences");
+            }
+
+            LocalDateTime endTime = startTime.plus(length);
+            if (previousEnd != null && !startTime.isAfter(previousEnd)) {
+                throw new IllegalArgumentException("Occurrences of the series overlap each other");
+            }
+            previousEnd = endTime;
+
+            if (!startTime.isBefore(notBefore)) {
+                occurrences.add(new Occurrence(startTime, endTime));
+            }
+        }
+
+        if (occurrences.isEmpty()) {
+            throw new IllegalArgumentException("The reservation series has no upcoming occurrences");
+        }
+        return occurrences;
+    }
+
+    private void checkAvailability(Long roomId, List<Occurrence> occurrences, Set<Long> ignoredReservationIds) {
+        LocalDateTime from = occurrences.get(0).startTime();
+        LocalDateTime to = occurrences.get(occurrences.size() - 1).endTime();
+        List<ReservationSlot> booked = bookedSlots(roomId, from, to).stream()
+                .filter(slot -> !ignoredReservationIds.contains(slot.getReservationId()))
+                .toList();
+
+        // Both lists are sorted by start time, and confirmed bookings of a room never overlap each
+        // other, so one merge walk finds every conflicting occurrence
+        List<Occurrence> conflicts = new ArrayList<>();
+        int next = 0;
+        for (Occurrence occurrence : occurrences) {
+            while (next < booked.size() && booked.get(next).getEndTime().isBefore(occurrence.startTime())) {
+                next++;
+            }
+            if (next < booked.size() && !booked.get(next).getStartTime().isAfter(occurrence.endTime())) {
+                conflicts.add(occurrence);
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            throw new RoomNotAvailableException(roomId, conflicts.stream()
+                    .map(occurrence -> "from " + occurrence.startTime() + " to " + occurrence.endTime())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private List<ReservationSlot> bookedSlots(Long roomId, LocalDateTime from, LocalDateTime to) {
+        if (overlapIndex.isAuthoritative()) {
+            return overlapIndex.schedule(roomId, from, to).intervals().stream()
+                    .map(interval -> new ReservationSlot(interval.reservationId(), interval.roomId(),
+                            interval.startTime(), interval.endTime()))
+                    .toList();
+        }
+        return reservationRepository.findConfirmedSlotsOverlapping(List.of(roomId), from, to).stream()
+                .sorted(Comparator.comparing(ReservationSlot::getStartTime))
+                .toList();
+    }
+
+    private Reservation newOccurrence(ReservationSeries series, Occurrence occurrence) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(series.getUser());
+        reservation.setRoom(series.getRoom());
+        reservation.setTitle(series.getTitle());
+        reservation.setStartTime(occurrence.startTime());
+        reservation.setEndTime(occurrence.endTime());
+        reservation.setStatus(ReservationStatus.confirmed);
+        reservation.setSeriesId(series.getId());
+        return reservation;
+    }
+
+    private void publishChange(Reservation reservation, ReservationState before) {
+        eventPublisher.publishEvent(
+                new ReservationChangedEvent(reservation.getId(), before, ReservationState.of(reservation)));
+    }
+
+    private record Occurrence(LocalDateTime startTime, LocalDateTime endTime) {
+    }
+}
\ No newline at end of file
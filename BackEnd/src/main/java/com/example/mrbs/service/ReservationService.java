@@ -1,36 +1,132 @@
 package com.example.mrbs.service;
 
+import com.example.mrbs.dto.BatchReservationResponse;
+import com.example.mrbs.dto.BatchReservationResult;
+import com.example.mrbs.dto.BatchReservationResult.ItemStatus;
+import com.example.mrbs.dto.CursorPage;
+import com.example.mrbs.dto.PageCursor;
 import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationChangedEvent.ReservationState;
 import com.example.mrbs.exception.ResourceNotFoundException;
 import com.example.mrbs.exception.RoomNotAvailableException;
 import com.example.mrbs.model.MeetingRoom;
 import com.example.mrbs.model.Reservation;
 import com.example.mrbs.model.Reservation.ReservationStatus;
 import com.example.mrbs.model.User;
+import com.example.mrbs.repository.ArchivedReservationRepository;
 import com.example.mrbs.repository.ReservationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ReservationService {
 
+    private static final Comparator<ReservationView> BY_START_TIME =
+            Comparator.comparing(ReservationView::getStartTime).thenComparing(ReservationView::getId);
+
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private ArchivedReservationRepository archiveRepository;
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private MeetingRoomService roomService;
 
+    @Autowired
+    private ReservationOverlapIndex overlapIndex;
+
+    @Autowired
+    private RoomLockStripes roomLocks;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    // Resolved once instead of per exported row, and leaves flushing to the generator's buffer
+    private ObjectWriter viewWriter;
+
+    @PostConstruct
+    void initWriters() {
+        viewWriter = objectMapper.writerFor(ReservationView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationView> findAllReservations() {
+        return reservationRepository.findViews();
+    }
+
     @Transactional(readOnly = true)
-    public List<Reservation> findAllReservations() {
-        return reservationRepository.findAll();
+    public CursorPage<ReservationView> findAllReservations(String cursor, Integer limit) {
+        PageCursor after = PageCursor.decodeOrFirst(cursor);
+        int size = PageCursor.limit(limit);
+        return page(reservationRepository.findViewPage(after.startTime(), after.id(), Limit.of(size + 1)), size);
+    }
+
+    /**
+     * Writes every reservation as one JSON array straight from a database cursor, so the full
+     * result is never held in memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportReservations(OutputStream out) throws IOException {
+        try (Stream<ReservationView> reservations = reservationRepository.streamViews();
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.writeStartArray();
+            Iterator<ReservationView> rows = reservations.iterator();
+            while (rows.hasNext()) {
+                viewWriter.writeValue(json, rows.next());
+            }
+            json.writeEndArray();
+        }
     }
 
     @Transactional(readOnly = true)
@@ -40,8 +136,16 @@ public class ReservationService {
     }
 
     @Transactional(readOnly = true)
-    public List<Reservation> findUserReservations(String email) {
-        return reservationRepository.findByUserEmail(email);
+    public List<ReservationView> findUserReservations(String email) {
+        return reservationRepository.findViewsByUserEmail(email);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationView> findUserReservations(String email, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decodeOrFirst(cursor);
+        int size = PageCursor.limit(limit);
+        return page(reservationRepository.findViewPageByUserEmail(
+                email, after.startTime(), after.id(), Limit.of(size + 1)), size);
     }
 
     @Transactional(readOnly = true)
@@ -50,17 +154,73 @@ public class ReservationService {
     }
 
     @Transactional(readOnly = true)
-    public List<Reservation> findReservationsByRoom(Long roomId) {
-        return reservationRepository.findByRoomId(roomId);
+    public List<ReservationView> findReservationsByRoom(Long roomId) {
+        return reservationRepository.findViewsByRoomId(roomId);
     }
 
     @Transactional(readOnly = true)
-    public List<Reservation> findReservationsByRoomAndDateRange(Long roomId, LocalDateTime fromDate, LocalDateTime toDate) {
-        return reservationRepository.findByRoomIdAndDateRange(roomId, fromDate, toDate);
+    public List<ReservationView> findReservationsByRoomAndDateRange(Long roomId, LocalDateTime fromDate, LocalDateTime toDate) {
+        return reservationRepository.findViewsByRoomIdAndDateRange(roomId, fromDate, toDate);
     }
 
-    @Transactional
-    public Reservation createReservation(String userEmail, ReservationDto reservationDto) {
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationView> findReservationsByRoom(Long roomId, LocalDateTime fromDate, LocalDateTime toDate,
+                                                              String cursor, Integer limit) {
+        PageCursor after = PageCursor.decodeOrFirst(cursor);
+        int size = PageCursor.limit(limit);
+        if (fromDate != null && toDate != null) {
+            return page(reservationRepository.findViewPageByRoomIdAndDateRange(
+                    roomId, fromDate, toDate, after.startTime(), after.id(), Limit.of(size + 1)), size);
+        }
+        return page(reservationRepository.findViewPageByRoomId(
+                roomId, after.startTime(), after.id(), Limit.of(size + 1)), size);
+    }
+
+    /**
+     * A user's reservations including archived ones, paged in the same order as the live list.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationView> findUserHistory(String email, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decodeOrFirst(cursor);
+        int size = PageCursor.limit(limit);
+        Limit rows = Limit.of(size + 1);
+        return page(reservationRepository.findViewPageByUserEmail(email, after.startTime(), after.id(), rows),
+                archiveRepository.findViewPageByUserEmail(email, after.startTime(), after.id(), rows), size);
+    }
+
+    /**
+     * All reservations, or one room's, including archived ones. The date range applies only
+     * together with a room, as on the room schedule.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationView> findHistory(Long roomId, LocalDateTime fromDate, LocalDateTime toDate,
+                                                   String cursor, Integer limit) {
+        PageCursor after = PageCursor.decodeOrFirst(cursor);
+        int size = PageCursor.limit(limit);
+        Limit rows = Limit.of(size + 1);
+        if (roomId == null) {
+            return page(reservationRepository.findViewPage(after.startTime(), after.id(), rows),
+                    archiveRepository.findViewPage(after.startTime(), after.id(), rows), size);
+        }
+        if (fromDate != null && toDate != null) {
+            return page(reservationRepository.findViewPageByRoomIdAndDateRange(
+                            roomId, fromDate, toDate, after.startTime(), after.id(), rows),
+                    archiveRepository.findViewPageByRoomIdAndDateRange(
+                            roomId, fromDate, toDate, after.startTime(), after.id(), rows), size);
+        }
+        return page(reservationRepository.findViewPageByRoomId(roomId, after.startTime(), after.id(), rows),
+                archiveRepository.findViewPageByRoomId(roomId, after.startTime(), after.id(), rows), size);
+    }
+
+    public ReservationView createReservation(String userEmail, ReservationDto reservationDto) {
+        // Room locks are taken before the transaction starts and released only after it has committed
+        return bookingMetrics.recordAttempt(reservationDto.getRoomId(), () ->
+                roomLocks.withRoomLocks(List.of(reservationDto.getRoomId()), contended ->
+                        transactionTemplate.execute(status -> bookReservation(userEmail, reservationDto, contended))));
+    }
+
+    private ReservationView bookReservation(String userEmail, ReservationDto reservationDto, boolean contended) {
+        roomLocks.lockRoomRows(List.of(reservationDto.getRoomId()));
         User user = userService.findByEmail(userEmail);
         MeetingRoom room = roomService.findById(reservationDto.getRoomId());
 
@@ -77,10 +237,12 @@ public class ReservationService {
         }
 
         // Check if room is available for the specified time slot
-        boolean isOverlapping = reservationRepository.existsOverlappingReservation(
-                room.getId(), startTime, endTime);
+        boolean isOverlapping = isOverlapping(room.getId(), startTime, endTime, null);
 
         if (isOverlapping) {
+            if (contended) {
+                roomLocks.recordRejectedRace();
+            }
             throw new RoomNotAvailableException(room.getId(),
                     "from " + startTime + " to " + endTime);
         }
@@ -94,11 +256,100 @@ public class ReservationService {
         reservation.setEndTime(endTime);
         reservation.setStatus(ReservationStatus.confirmed);
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        publishChange(saved, null);
+        return ReservationView.of(saved);
     }
 
-    @Transactional
-    public Reservation updateReservation(Long id, String userEmail, ReservationDto reservationDto) {
+    public BatchReservationResponse createReservations(String userEmail, List<ReservationDto> reservationDtos) {
+        List<Long> roomIds = reservationDtos.stream()
+                .filter(Objects::nonNull)
+                .map(ReservationDto::getRoomId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        BatchReservationResponse response = roomLocks.withRoomLocks(roomIds, contended ->
+                transactionTemplate.execute(status -> bookReservations(userEmail, reservationDtos, roomIds)));
+
+        for (BatchReservationResult result : response.getResults()) {
+            if (result.getStatus() != ItemStatus.invalid) {
+                bookingMetrics.record(reservationDtos.get(result.getIndex()).getRoomId(),
+                        result.getStatus() == ItemStatus.created ? BookingMetrics.Outcome.booked
+                                : BookingMetrics.Outcome.conflict, 1);
+            }
+        }
+        return response;
+    }
+
+    private BatchReservationResponse bookReservations(String userEmail, List<ReservationDto> reservationDtos,
+                                                      List<Long> roomIds) {
+        roomLocks.lockRoomRows(roomIds);
+        User user = userService.findByEmail(userEmail);
+        Map<Long, MeetingRoom> rooms = roomService.findRoomsByIds(roomIds).stream()
+                .collect(Collectors.toMap(MeetingRoom::getId, Function.identity()));
+
+        BatchReservationResult[] results = new BatchReservationResult[reservationDtos.size()];
+        List<Integer> candidates = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < reservationDtos.size(); i++) {
+            String problem = validateBatchItem(reservationDtos.get(i), rooms, now);
+            if (problem != null) {
+                results[i] = new BatchReservationResult(i, ItemStatus.invalid, null, problem);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // One lookup for the existing bookings of every room in the batch
+        SlotChecker existing = bookedSlotsFor(candidates.stream().map(reservationDtos::get).toList());
+
+        // Items already accepted from this batch, per room, keyed by start time
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> accepted = new HashMap<>();
+        List<Reservation> toSave = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+        for (int i : candidates) {
+            ReservationDto dto = reservationDtos.get(i);
+            TreeMap<LocalDateTime, LocalDateTime> roomAccepted = accepted.computeIfAbsent(dto.getRoomId(), id -> new TreeMap<>());
+
+            if (existing.overlaps(dto.getRoomId(), dto.getStartTime(), dto.getEndTime())
+                    || overlapsAccepted(roomAccepted, dto.getStartTime(), dto.getEndTime())) {
+                results[i] = new BatchReservationResult(i, ItemStatus.conflict, null,
+                        conflictMessage(dto.getRoomId(), dto.getStartTime(), dto.getEndTime()));
+                continue;
+            }
+            roomAccepted.put(dto.getStartTime(), dto.getEndTime());
+
+            Reservation reservation = new Reservation();
+            reservation.setUser(user);
+            reservation.setRoom(rooms.get(dto.getRoomId()));
+            reservation.setTitle(dto.getTitle());
+            reservation.setStartTime(dto.getStartTime());
+            reservation.setEndTime(dto.getEndTime());
+            reservation.setStatus(ReservationStatus.confirmed);
+            toSave.add(reservation);
+            savedIndexes.add(i);
+        }
+
+        List<Reservation> saved = reservationRepository.saveAll(toSave);
+        for (int k = 0; k < saved.size(); k++) {
+            Reservation reservation = saved.get(k);
+            int i = savedIndexes.get(k);
+            results[i] = new BatchReservationResult(i, ItemStatus.created, reservation.getId(), null);
+            publishChange(reservation, null);
+        }
+
+        return new BatchReservationResponse(saved.size(), results.length - saved.size(), Arrays.asList(results));
+    }
+
+    public ReservationView updateReservation(Long id, String userEmail, ReservationDto reservationDto) {
+        // Only the target room can gain a conflict, so its lock is the only one needed
+        return bookingMetrics.recordAttempt(reservationDto.getRoomId(), () ->
+                roomLocks.withRoomLocks(List.of(reservationDto.getRoomId()), contended ->
+                        transactionTemplate.execute(status -> rebookReservation(id, userEmail, reservationDto, contended))));
+    }
+
+    private ReservationView rebookReservation(Long id, String userEmail, ReservationDto reservationDto, boolean contended) {
+        roomLocks.lockRoomRows(List.of(reservationDto.getRoomId()));
         Reservation reservation = findById(id);
         User user = userService.findByEmail(userEmail);
 
@@ -113,10 +364,13 @@ public class ReservationService {
             MeetingRoom newRoom = roomService.findById(newRoomId);
 
             // Check if new room is available for the specified time slot
-            boolean isOverlapping = reservationRepository.existsOverlappingReservation(
-                    newRoomId, reservationDto.getStartTime(), reservationDto.getEndTime());
+            boolean isOverlapping = isOverlapping(
+                    newRoomId, reservationDto.getStartTime(), reservationDto.getEndTime(), null);
 
             if (isOverlapping) {
+                if (contended) {
+                    roomLocks.recordRejectedRace();
+                }
                 throw new RoomNotAvailableException(newRoomId,
                         "from " + reservationDto.getStartTime() + " to " + reservationDto.getEndTime());
             }
@@ -126,21 +380,27 @@ public class ReservationService {
                 !reservation.getEndTime().equals(reservationDto.getEndTime())) {
 
             // Check if room is available for the new time slot (excluding current reservation)
-            boolean isOverlapping = reservationRepository.existsOverlappingReservationExcludingThis(
-                    id, newRoomId, reservationDto.getStartTime(), reservationDto.getEndTime());
+            boolean isOverlapping = isOverlapping(
+                    newRoomId, reservationDto.getStartTime(), reservationDto.getEndTime(), id);
 
             if (isOverlapping) {
+                if (contended) {
+                    roomLocks.recordRejectedRace();
+                }
                 throw new RoomNotAvailableException(newRoomId,
                         "from " + reservationDto.getStartTime() + " to " + reservationDto.getEndTime());
             }
         }
 
         // Update reservation details
+        ReservationState before = ReservationState.of(reservation);
         reservation.setTitle(reservationDto.getTitle());
         reservation.setStartTime(reservationDto.getStartTime());
         reservation.setEndTime(reservationDto.getEndTime());
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        publishChange(saved, before);
+        return ReservationView.of(saved);
     }
 
     @Transactional
@@ -155,22 +415,115 @@ public class ReservationService {
         }
 
         // Update reservation status
+        ReservationState before = ReservationState.of(reservation);
         reservation.setStatus(ReservationStatus.cancelled);
         reservationRepository.save(reservation);
-
+        publishChange(reservation, before);
     }
 
     @Transactional
-    public Reservation updateReservationStatus(Long id, String status) {
+    public ReservationView updateReservationStatus(Long id, String status) {
         Reservation reservation = findById(id);
 
         try {
             ReservationStatus newStatus = ReservationStatus.valueOf(status);
 
+            ReservationState before = ReservationState.of(reservation);
             reservation.setStatus(newStatus);
-            return reservationRepository.save(reservation);
+            Reservation saved = reservationRepository.save(reservation);
+            publishChange(saved, before);
+            return ReservationView.of(saved);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status: " + status);
         }
     }
+
+    private boolean isOverlapping(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+        if (overlapIndex.isAuthoritative()) {
+            return bookingMetrics.timeOverlapCheck(true,
+                    () -> overlapIndex.overlaps(roomId, startTime, endTime, excludeReservationId));
+        }
+        return bookingMetrics.timeOverlapCheck(false, () -> excludeReservationId == null
+                ? reservationRepository.existsOverlappingReservation(roomId, startTime, endTime)
+                : reservationRepository.existsOverlappingReservationExcludingThis(
+                        excludeReservationId, roomId, startTime, endTime));
+    }
+
+    private CursorPage<ReservationView> page(List<ReservationView> rows, int size) {
+        return CursorPage.of(rows, size, view -> new PageCursor(view.getStartTime(), view.getId()));
+    }
+
+    // Each side holds at most a page plus one after the cursor, so the merged page is exact
+    private CursorPage<ReservationView> page(List<ReservationView> live, List<ReservationView> archived, int size) {
+        List<ReservationView> rows = Stream.concat(live.stream(), archived.stream())
+                .sorted(BY_START_TIME)
+                .limit(size + 1L)
+                .toList();
+        return page(rows, size);
+    }
+
+    private void publishChange(Reservation reservation, ReservationState before) {
+        eventPublisher.publishEvent(
+                new ReservationChangedEvent(reservation.getId(), before, ReservationState.of(reservation)));
+    }
+
+    private String validateBatchItem(ReservationDto dto, Map<Long, MeetingRoom> rooms, LocalDateTime now) {
+        if (dto == null) {
+            return "Reservation details are required";
+        }
+        Set<ConstraintViolation<ReservationDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (dto.getStartTime().isAfter(dto.getEndTime())) {
+            return "Start time must be before end time";
+        }
+        if (dto.getStartTime().isBefore(now)) {
+            return "Start time cannot be in the past";
+        }
+        if (!rooms.containsKey(dto.getRoomId())) {
+            return String.format("Meeting Room not found with id : '%s'", dto.getRoomId());
+        }
+        return null;
+    }
+
+    /**
+     * Confirmed bookings for the rooms and time span covered by the given requests: the overlap index
+     * when it is authoritative, otherwise a single range query over all of those rooms.
+     */
+    private SlotChecker bookedSlotsFor(List<ReservationDto> requests) {
+        if (overlapIndex.isAuthoritative() || requests.isEmpty()) {
+            return overlapIndex::overlaps;
+        }
+
+        Set<Long> roomIds = requests.stream().map(ReservationDto::getRoomId).collect(Collectors.toSet());
+        LocalDateTime from = requests.stream().map(ReservationDto::getStartTime).min(Comparator.naturalOrder()).get();
+        LocalDateTime to = requests.stream().map(ReservationDto::getEndTime).max(Comparator.naturalOrder()).get();
+        Map<Long, List<ReservationSlot>> booked = reservationRepository.findConfirmedSlotsOverlapping(roomIds, from, to)
+                .stream()
+                .collect(Collectors.groupingBy(ReservationSlot::getRoomId));
+
+        return (roomId, startTime, endTime) -> booked.getOrDefault(roomId, List.of()).stream()
+                .anyMatch(slot -> !slot.getStartTime().isAfter(endTime) && !slot.getEndTime().isBefore(startTime));
+    }
+
+    private boolean overlapsAccepted(TreeMap<LocalDateTime, LocalDateTime> accepted,
+                                     LocalDateTime startTime, LocalDateTime endTime) {
+        // Accepted slots never overlap each other, so only the latest one starting by endTime can conflict
+        Entry<LocalDateTime, LocalDateTime> latest = accepted.floorEntry(endTime);
+        return latest != null && !latest.getValue().isBefore(startTime);
+    }
+
+    private String conflictMessage(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return String.format("Room with ID %d is not available for the time slot: from %s to %s",
+                roomId, startTime, endTime);
+    }
+
+    @FunctionalInterface
+    private interface SlotChecker {
+        boolean overlaps(Long roomId, LocalDateTime startTime, LocalDateTime endTime);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.RoomScheduleVersion;
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationsArchivedEvent;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Strong ETags for conditional GETs: one for the room catalog and one per room, covering the
+ * room and its reservations. Tags are derived from database contents only, so every instance
+ * serves the same tag for the same data and tags survive restarts: the catalog tag is the
+ * {@link RoomCatalog} fingerprint, and a room tag adds the room's schedule version, which every
+ * reservation write moves in the database just before it commits. Writes on this instance show up
+ * right after commit, writes on other instances with the next catalog refresh, which bounds how
+ * long a 304 can be stale. A request should take its tag before loading the data it describes.
+ * There is deliberately no Last-Modified: its one-second resolution cannot tell apart two writes
+ * in the same second.
+ */
+@Component
+public class ResourceVersions {
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Versions committed by this instance that the catalog snapshot may not show yet
+    private final Map<Long, Long> committed = new ConcurrentHashMap<>();
+
+    public String catalog() {
+        return "\"" + roomCatalog.fingerprint() + "\"";
+    }
+
+    public String room(Long roomId) {
+        String fingerprint = roomCatalog.fingerprint(roomId);
+        long version = Math.max(roomCatalog.scheduleVersion(roomId), committed.getOrDefault(roomId, 0L));
+        return "\"" + fingerprint + "." + version + "\"";
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        Set<Long> roomIds = new TreeSet<>();
+        if (event.before() != null) {
+            roomIds.add(event.before().roomId());
+        }
+        if (event.after() != null) {
+            roomIds.add(event.after().roomId());
+        }
+        scheduleChanged(roomIds, false);
+    }
+
+    // Room lists read from the live table lose or regain the moved rows
+    @EventListener
+    public void onReservationsArchived(ReservationsArchivedEvent event) {
+        scheduleChanged(event.roomIds(), false);
+    }
+
+    /**
+     * Changes every room tag, for writes that show up in responses without belonging to a room,
+     * such as an organizer's name.
+     */
+    public void invalidateAll() {
+        scheduleChanged(Set.of(), true);
+    }
+
+    private void scheduleChanged(Collection<Long> roomIds, boolean allRooms) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingRooms rooms = new PendingRooms();
+            rooms.add(roomIds, allRooms);
+            record(transactionTemplate.execute(status -> write(rooms)));
+            return;
+        }
+        pendingRooms().add(roomIds, allRooms);
+    }
+
+    // One set of rooms per transaction, versioned once just before it commits
+    private PendingRooms pendingRooms() {
+        PendingRooms pending = (PendingRooms) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingRooms created = new PendingRooms();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private List<RoomScheduleVersion> written = List.of();
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    written = write(created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    record(written);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ResourceVersions.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    // In id order, so concurrent transactions lock room rows in the same order
+    private List<RoomScheduleVersion> write(PendingRooms rooms) {
+        if (rooms.all) {
+            roomRepository.incrementAllScheduleVersions();
+            return roomRepository.findAllScheduleVersions();
+        }
+        if (rooms.roomIds.isEmpty()) {
+            return List.of();
+        }
+        roomRepository.incrementScheduleVersions(rooms.roomIds);
+        return roomRepository.findScheduleVersions(rooms.roomIds);
+    }
+
+    private void record(List<RoomScheduleVersion> versions) {
+        for (RoomScheduleVersion version : versions) {
+            committed.merge(version.getRoomId(), version.getVersion(), Math::max);
+        }
+    }
+
+    private static final class PendingRooms {
+
+        private final Set<Long> roomIds = new TreeSet<>();
+        private boolean all;
+
+        void add(Collection<Long> ids, boolean allRooms) {
+            roomIds.addAll(ids);
+            all |= allRooms;
+        }
+    }
+}
\ No newline at end of file
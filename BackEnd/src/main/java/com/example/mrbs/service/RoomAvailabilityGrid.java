@@ -0,0 +1,220 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.service.ReservationOverlapIndex.Interval;
+import com.example.mrbs.service.ReservationOverlapIndex.RoomSchedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Slot-grid view over {@link ReservationOverlapIndex}: one 96-bit word pair per room per day,
+ * one bit per fifteen-minute slot. A slot is marked busy when any confirmed reservation touches
+ * it, so a hit on a slot the requested range covers completely is a definite conflict, while a
+ * hit on a partially covered edge slot is confirmed against the index.
+ */
+@Component
+public class RoomAvailabilityGrid {
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+
+    @Autowired
+    private ReservationOverlapIndex overlapIndex;
+
+    @Value("${mrbs.availability.fork-threshold-days:7}")
+    private int forkThresholdDays;
+
+    private final Map<Long, RoomDays> cache = new ConcurrentHashMap<>();
+
+    public boolean isReady() {
+        return overlapIndex.isAuthoritative();
+    }
+
+    public List<MeetingRoom> findAvailableRooms(List<MeetingRoom> rooms, LocalDateTime startTime, LocalDateTime endTime) {
+        List<DayMask> days = masksFor(startTime, endTime);
+
+        Hits hits = days.size() > forkThresholdDays
+                ? ForkJoinPool.commonPool().invoke(new ScanTask(rooms, days, 0, days.size()))
+                : scan(rooms, days, 0, days.size());
+
+        List<MeetingRoom> available = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            if (hits.busy.get(i)) {
+                continue;
+            }
+            MeetingRoom room = rooms.get(i);
+            if (hits.edge.get(i) && overlapIndex.overlaps(room.getId(), startTime, endTime)) {
+                continue;
+            }
+            available.add(room);
+        }
+        return available;
+    }
+
+    private Hits scan(List<MeetingRoom> rooms, List<DayMask> days, int from, int to) {
+        Hits hits = new Hits(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            Long roomId = rooms.get(i).getId();
+            for (int d = from; d < to && !hits.busy.get(i); d++) {
+                DayMask day = days.get(d);
+                long[] bits = dayBits(roomId, day.date);
+                if (intersects(bits, day.interior)) {
+                    hits.busy.set(i);
+                } else if (intersects(bits, day.edge)) {
+                    hits.edge.set(i);
+                }
+            }
+        }
+        return hits;
+    }
+
+    long[] dayBits(Long roomId, LocalDate date) {
+        long version = overlapIndex.roomVersion(roomId);
+        RoomDays roomDays = cache.compute(roomId,
+                (id, current) -> current != null && current.version == version ? current : new RoomDays(version));
+
+        long[] bits = roomDays.days.get(date);
+        if (bits == null) {
+            LocalDateTime dayStart = date.atStartOfDay();
+            LocalDateTime nextDayStart = dayStart.plusDays(1);
+            RoomSchedule schedule = overlapIndex.schedule(roomId, dayStart, nextDayStart);
+
+            bits = new long[WORDS_PER_DAY];
+            for (Interval interval : schedule.intervals()) {
+                if (!interval.startTime().isBefore(nextDayStart)) {
+                    continue;
+                }
+                int first = interval.startTime().isBefore(dayStart) ? 0 : slotOf(interval.startTime());
+                int last = interval.endTime().isBefore(nextDayStart) ? slotOf(interval.endTime()) : SLOTS_PER_DAY - 1;
+                setRange(bits, first, last);
+            }
+
+            // Only cache what was computed against the version we looked up
+            if (schedule.version() == version) {
+                roomDays.days.put(date, bits);
+            }
+        }
+        return bits;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private List<DayMask> masksFor(LocalDateTime startTime, LocalDateTime endTime) {
+        List<DayMask> days = new ArrayList<>();
+        for (LocalDate date = startTime.toLocalDate(); !date.isAfter(endTime.toLocalDate()); date = date.plusDays(1)) {
+            LocalDateTime dayStart = date.atStartOfDay();
+            int first = startTime.isBefore(dayStart) ? 0 : slotOf(startTime);
+            int last = endTime.isBefore(dayStart.plusDays(1)) ? slotOf(endTime) : SLOTS_PER_DAY - 1;
+
+            long[] touched = new long[WORDS_PER_DAY];
+            long[] interior = new long[WORDS_PER_DAY];
+            setRange(touched, first, last);
+            for (int slot = first; slot <= last; slot++) {
+                LocalDateTime slotStart = dayStart.plusMinutes((long) slot * SLOT_MINUTES);
+                if (!slotStart.isBefore(startTime) && !slotStart.plusMinutes(SLOT_MINUTES).isAfter(endTime)) {
+                    interior[slot >>> 6] |= 1L << slot;
+                }
+            }
+
+            long[] edge = new long[WORDS_PER_DAY];
+            for (int w = 0; w < WORDS_PER_DAY; w++) {
+                edge[w] = touched[w] & ~interior[w];
+            }
+            days.add(new DayMask(date, interior, edge));
+        }
+        return days;
+    }
+
+    private static int slotOf(LocalDateTime time) {
+        LocalTime t = time.toLocalTime();
+        return (t.getHour() * 60 + t.getMinute()) / SLOT_MINUTES;
+    }
+
+    private static void setRange(long[] bits, int first, int last) {
+        for (int slot = first; slot <= last; slot++) {
+            bits[slot >>> 6] |= 1L << slot;
+        }
+    }
+
+    private static boolean intersects(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & b[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record DayMask(LocalDate date, long[] interior, long[] edge) {
+    }
+
+    private static final class RoomDays {
+
+        private final long version;
+        private final Map<LocalDate, long[]> days = new ConcurrentHashMap<>();
+
+        RoomDays(long version) {
+            this.version = version;
+        }
+    }
+
+    private static final class Hits {
+
+        // Indexed by position in the room list
+        private final BitSet busy;
+        private final BitSet edge;
+
+        Hits(int rooms) {
+            busy = new BitSet(rooms);
+            edge = new BitSet(rooms);
+        }
+
+        Hits merge(Hits other) {
+            busy.or(other.busy);
+            edge.or(other.edge);
+            return this;
+        }
+    }
+
+    private final class ScanTask extends RecursiveTask<Hits> {
+
+        private final List<MeetingRoom> rooms;
+        private final List<DayMask> days;
+        private final int from;
+        private final int to;
+
+        ScanTask(List<MeetingRoom> rooms, List<DayMask> days, int from, int to) {
+            this.rooms = rooms;
+            this.days = days;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Hits compute() {
+            if (to - from <= forkThresholdDays) {
+                return scan(rooms, days, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(rooms, days, from, mid);
+            left.fork();
+            Hits right = new ScanTask(rooms, days, mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.RoomCatalogStats;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomAvailability;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Copy-on-write snapshot of all meeting rooms, indexed by id, location, availability and capacity.
+ * Room writes invalidate it after commit and the next read swaps in a fresh snapshot; a periodic
+ * refresh picks up changes made by other instances. Each snapshot carries content fingerprints of
+ * the catalog and of every room, which are the same on every instance that loaded the same rows.
+ * Rooms handed out are shared and must not be modified.
+ */
+@Component
+public class RoomCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomCatalog.class);
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    // Bumped by every invalidation and every refresh that finds changes; a snapshot is current
+    // while it carries the latest generation
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    // Not a monitor: a virtual thread blocked in JDBC under synchronized would pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile long lastRebuildMillis;
+
+    public List<MeetingRoom> all() {
+        return current().all;
+    }
+
+    public MeetingRoom byId(Long id) {
+        return current().byId.get(id);
+    }
+
+    public List<MeetingRoom> byIds(Collection<Long> ids) {
+        Snapshot current = current();
+        return ids.stream().map(current.byId::get).filter(Objects::nonNull).toList();
+    }
+
+    public List<MeetingRoom> byLocation(RoomLocation location) {
+        return current().byLocation.get(location);
+    }
+
+    public List<MeetingRoom> byAvailability(RoomAvailability availability) {
+        return current().byAvailability.get(availability);
+    }
+
+    public List<MeetingRoom> withMinCapacity(int capacity) {
+        Snapshot current = current();
+        // First index whose capacity is at least the requested one
+        int low = 0;
+        int high = current.capacities.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current.capacities[mid] < capacity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return current.byCapacity.subList(low, current.byCapacity.size());
+    }
+
+    // Digest of every room in the catalog, schedule versions aside
+    public String fingerprint() {
+        return current().fingerprint;
+    }
+
+    // Digest of one room; rooms the catalog does not hold share the catalog's
+    public String fingerprint(Long roomId) {
+        Snapshot current = current();
+        return current.roomFingerprints.getOrDefault(roomId, current.fingerprint);
+    }
+
+    public long scheduleVersion(Long roomId) {
+        MeetingRoom room = byId(roomId);
+        return room == null ? 0 : room.getScheduleVersion();
+    }
+
+    public void invalidate() {
+        // Readers in the same transaction would otherwise cache the uncommitted change
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${mrbs.room-catalog.refresh-interval-ms:60000}",
+            fixedDelayString = "${mrbs.room-catalog.refresh-interval-ms:60000}")
+    public void refresh() {
+        rebuildLock.lock();
+        try {
+            long target = generation.get();
+            Snapshot current = snapshot;
+            long started = System.nanoTime();
+            Snapshot fresh = new Snapshot(target + 1, roomRepository.findAll());
+
+            // Unchanged rooms keep the snapshot, and with it the tags derived from it
+            if (current != null && current.fingerprint.equals(fresh.fingerprint)
+                    && current.scheduleVersions.equals(fresh.scheduleVersions)) {
+                return;
+            }
+            // A concurrent invalidation already makes the next read rebuild
+            if (generation.compareAndSet(target, target + 1)) {
+                install(fresh, started);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public RoomCatalogStats stats() {
+        Snapshot current = snapshot;
+        return new RoomCatalogStats(current == null ? 0 : current.all.size(), hits.sum(), rebuilds.sum(),
+                lastRebuildMillis, current == null ? null : current.builtAt);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation == generation.get()) {
+            hits.increment();
+            return current;
+        }
+        return rebuild();
+    }
+
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            // Another thread may have rebuilt while we waited for the lock
+            long target = generation.get();
+            Snapshot current = snapshot;
+            if (current != null && current.generation == target) {
+                hits.increment();
+                return current;
+            }
+
+            long started = System.nanoTime();
+            Snapshot fresh = new Snapshot(target, roomRepository.findAll());
+            install(fresh, started);
+            return fresh;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void install(Snapshot fresh, long started) {
+        snapshot = fresh;
+        rebuilds.increment();
+        lastRebuildMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.debug("Room catalog rebuilt with {} rooms in {} ms", fresh.all.size(), lastRebuildMillis);
+    }
+
+    // Every field a room response shows, so equal digests mean equal responses
+    private static byte[] digest(MeetingRoom room) {
+        String fields = String.join("\n", String.valueOf(room.getId()), room.getName(),
+                String.valueOf(room.getLocation()), String.valueOf(room.getCapacity()),
+                String.valueOf(room.getAvailability()), String.valueOf(room.getImageURL()),
+                String.valueOf(room.getCreatedAt()));
+        return sha256().digest(fields.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // 64 bits are plenty to tell snapshots apart
+    private static String shortHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest, 0, 8);
+    }
+
+    private static final class Snapshot {
+
+        private final long generation;
+        private final LocalDateTime builtAt = LocalDateTime.now();
+        private final List<MeetingRoom> all;
+        private final Map<Long, MeetingRoom> byId;
+        private final Map<RoomLocation, List<MeetingRoom>> byLocation = new EnumMap<>(RoomLocation.class);
+        private final Map<RoomAvailability, List<MeetingRoom>> byAvailability = new EnumMap<>(RoomAvailability.class);
+        private final List<MeetingRoom> byCapacity;
+        private final int[] capacities;
+        private final String fingerprint;
+        private final Map<Long, String> roomFingerprints;
+        private final Map<Long, Long> scheduleVersions;
+
+        Snapshot(long generation, List<MeetingRoom> rooms) {
+            this.generation = generation;
+            all = rooms.stream().sorted(Comparator.comparing(MeetingRoom::getId)).toList();
+            byId = all.stream().collect(Collectors.toUnmodifiableMap(MeetingRoom::getId, Function.identity()));
+
+            Map<RoomLocation, List<MeetingRoom>> locations = all.stream()
+                    .collect(Collectors.groupingBy(MeetingRoom::getLocation, Collectors.toUnmodifiableList()));
+            for (RoomLocation location : RoomLocation.values()) {
+                byLocation.put(location, locations.getOrDefault(location, List.of()));
+            }
+
+            Map<RoomAvailability, List<MeetingRoom>> availabilities = all.stream()
+                    .filter(room -> room.getAvailability() != null)
+                    .collect(Collectors.groupingBy(MeetingRoom::getAvailability, Collectors.toUnmodifiableList()));
+            for (RoomAvailability availability : RoomAvailability.values()) {
+                byAvailability.put(availability, availabilities.getOrDefault(availability, List.of()));
+            }
+
+            byCapacity = all.stream().sorted(Comparator.comparing(MeetingRoom::getCapacity)).toList();
+            capacities = byCapacity.stream().mapToInt(MeetingRoom::getCapacity).toArray();
+
+            MessageDigest catalog = sha256();
+            Map<Long, String> fingerprints = new HashMap<>();
+            for (MeetingRoom room : all) {
+                byte[] digest = digest(room);
+                catalog.update(digest);
+                fingerprints.put(room.getId(), shortHex(digest));
+            }
+            fingerprint = shortHex(catalog.digest());
+            roomFingerprints = Map.copyOf(fingerprints);
+            scheduleVersions = all.stream()
+                    .collect(Collectors.toUnmodifiableMap(MeetingRoom::getId, MeetingRoom::getScheduleVersion));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.CursorPage;
+import com.example.mrbs.dto.PageCursor;
+import com.example.mrbs.dto.RoomFeedbackSummary;
+import com.example.mrbs.dto.RoomFeedbackView;
+import com.example.mrbs.event.RoomChangedEvent;
+import com.example.mrbs.exception.ResourceNotFoundException;
+import com.example.mrbs.model.RoomFeedback;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.RoomFeedbackRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only room feedback, read newest first in keyset pages. Per-room summaries (count and
+ * latest entries) are cached; this node drops a room's summary when feedback is added to it,
+ * and entries expire after {@code summary-ttl-ms} so feedback added elsewhere shows up too.
+ */
+@Service
+public class RoomFeedbackService {
+
+    @Autowired
+    private RoomFeedbackRepository feedbackRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${mrbs.room-feedback.latest-size:5}")
+    private int latestSize;
+
+    @Value("${mrbs.room-feedback.summary-ttl-ms:60000}")
+    private long summaryTtlMillis;
+
+    private final Map<Long, CachedSummary> summaries = new ConcurrentHashMap<>();
+
+    @Transactional
+    public RoomFeedbackView addFeedback(Long roomId, String authorEmail, String feedback) {
+        requireRoom(roomId);
+        User author = userService.findByEmail(authorEmail);
+        RoomFeedback saved = append(roomId, author.getId(), feedback);
+        return new RoomFeedbackView(saved.getId(), roomId, saved.getFeedback(), saved.getCreatedAt(),
+                author.getId(), author.getName());
+    }
+
+    /**
+     * Adds an entry within the caller's transaction; {@code authorId} is null for feedback given
+     * with a room edit.
+     */
+    @Transactional
+    public RoomFeedback append(Long roomId, Long authorId, String feedback) {
+        if (feedback == null || feedback.isBlank()) {
+            throw new IllegalArgumentException("Feedback is required");
+        }
+        RoomFeedback saved = feedbackRepository.save(new RoomFeedback(null, roomId, authorId, feedback.strip(),
+                LocalDateTime.now()));
+        evict(roomId);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<RoomFeedbackView> findFeedback(Long roomId, String cursor, Integer limit) {
+        requireRoom(roomId);
+        int size = PageCursor.limit(limit);
+        List<RoomFeedbackView> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = feedbackRepository.findLatestViews(roomId, Limit.of(size + 1));
+        } else {
+            PageCursor before = PageCursor.decode(cursor);
+            rows = feedbackRepository.findViewsBefore(roomId, before.startTime(), before.id(), Limit.of(size + 1));
+        }
+        return CursorPage.of(rows, size, view -> new PageCursor(view.getCreatedAt(), view.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public RoomFeedbackSummary findSummary(Long roomId) {
+        CachedSummary cached = summaries.get(roomId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < summaryTtlMillis) {
+            return cached.summary();
+        }
+        requireRoom(roomId);
+        List<RoomFeedbackView> latest = feedbackRepository.findLatestViews(roomId, Limit.of(latestSize));
+        long count = latest.size() < latestSize ? latest.size() : feedbackRepository.countByRoomId(roomId);
+        RoomFeedbackSummary summary = new RoomFeedbackSummary(roomId, count,
+                latest.isEmpty() ? null : latest.get(0).getCreatedAt(), latest);
+        summaries.put(roomId, new CachedSummary(summary, System.currentTimeMillis()));
+        return summary;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (event.after() == null) {
+            summaries.remove(event.roomId());
+        }
+    }
+
+    private void requireRoom(Long roomId) {
+        if (roomCatalog.byId(roomId) == null && !roomRepository.existsById(roomId)) {
+            throw new ResourceNotFoundException("Meeting Room", "id", roomId);
+        }
+    }
+
+    private void evict(Long roomId) {
+        summaries.remove(roomId);
+
+        // Again once committed, in case a concurrent read cached the summary without the new entry
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    summaries.remove(roomId);
+                }
+            });
+        }
+    }
+
+    private record CachedSummary(RoomFeedbackSummary summary, long loadedAt) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.exception.BookingBusyException;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-room locks for the booking path. A lock is held around the whole booking
+ * transaction, so the conflict check, the insert, the commit and the after-commit update of
+ * {@link ReservationOverlapIndex} happen as one unit per room while bookings for rooms on other
+ * stripes proceed in parallel.
+ * <p>
+ * The stripes only exclude bookings made in this JVM. With {@code mrbs.booking.multi-node} set,
+ * booking transactions also lock the room rows through {@link #lockRoomRows}, and conflicts are
+ * checked against the database, since the overlap index is then not
+ * {@linkplain ReservationOverlapIndex#isAuthoritative() authoritative}.
+ */
+@Component
+public class RoomLockStripes {
+
+    private final ReentrantLock[] stripes;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Value("${mrbs.booking.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    @Value("${mrbs.booking.multi-node:false}")
+    private boolean multiNode;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contendedAcquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejectedRaces = new LongAdder();
+
+    public RoomLockStripes(@Value("${mrbs.booking.lock-stripes:64}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the stripes of the given rooms. Callers start their transaction
+     * inside the action, so no pooled connection is held while waiting and the lock outlives the commit.
+     */
+    public <T> T withRoomLocks(Collection<Long> roomIds, LockedAction<T> action) {
+        // Acquire in stripe order so multi-room callers cannot deadlock each other
+        int[] order = roomIds.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        boolean contended = false;
+        int held = 0;
+        try {
+            for (int stripe : order) {
+                contended |= acquire(stripes[stripe]);
+                held++;
+            }
+            return action.run(contended);
+        } finally {
+            release(order, held);
+        }
+    }
+
+    /**
+     * On a multi-node deployment, locks the rooms' rows until the current transaction ends, so a
+     * booking for the same room on another node waits for this one to commit. No-op on one node.
+     */
+    public void lockRoomRows(Collection<Long> roomIds) {
+        if (multiNode && !roomIds.isEmpty()) {
+            roomRepository.lockByIds(roomIds);
+        }
+    }
+
+    public void recordRejectedRace() {
+        rejectedRaces.increment();
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getContendedAcquisitions() {
+        return contendedAcquisitions.sum();
+    }
+
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getRejectedRaces() {
+        return rejectedRaces.sum();
+    }
+
+    private boolean acquire(ReentrantLock lock) {
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return false;
+        }
+
+        contendedAcquisitions.increment();
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingBusyException("Interrupted while waiting for the room lock");
+        }
+
+        long waited = System.nanoTime() - started;
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        if (!acquired) {
+            timeouts.increment();
+            throw new BookingBusyException("Room is busy with other bookings, please try again");
+        }
+        return true;
+    }
+
+    private void release(int[] order, int held) {
+        for (int i = held - 1; i >= 0; i--) {
+            stripes[order[i]].unlock();
+        }
+    }
+
+    private int stripeOf(Long roomId) {
+        int h = roomId.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    @FunctionalInterface
+    public interface LockedAction<T> {
+        T run(boolean contended);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.dto.UtilizationRebuildReport;
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationChangedEvent.ReservationState;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.RoomUsageDaily;
+import com.example.mrbs.model.RoomUsageHourly;
+import com.example.mrbs.repository.ArchivedReservationRepository;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.repository.RoomUsageDailyRepository;
+import com.example.mrbs.repository.RoomUsageHourlyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the hourly and daily room usage rollups in step with reservations. Every
+ * {@link ReservationChangedEvent} subtracts the old state and adds the new one; the deltas of a
+ * transaction are merged and written as upserts just before it commits, in key order so
+ * concurrent transactions lock buckets in the same order.
+ */
+@Component
+public class RoomUsageRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomUsageRollup.class);
+
+    // Reservations that occupied their room; cancelled ones do not count
+    private static final Set<ReservationStatus> COUNTED = EnumSet.of(ReservationStatus.confirmed, ReservationStatus.completed);
+
+    @Autowired
+    private RoomUsageHourlyRepository hourlyRepository;
+
+    @Autowired
+    private RoomUsageDailyRepository dailyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archiveRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${mrbs.utilization.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        Deltas deltas = new Deltas();
+        add(deltas, event.before(), -1);
+        add(deltas, event.after(), 1);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> write(deltas));
+            return;
+        }
+        pendingDeltas().merge(deltas);
+    }
+
+    /**
+     * Fills empty rollups from existing reservations, e.g. right after the tables were created.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (backfillOnStartup && dailyRepository.count() == 0
+                && (reservationRepository.count() > 0 || archiveRepository.count() > 0)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes both rollups from the reservations table and its archive. Bookings that commit
+     * while this runs may be missed or counted twice; run it again once writes are quiet if that
+     * matters.
+     */
+    public UtilizationRebuildReport rebuild() {
+        return transactionTemplate.execute(status -> {
+            long started = System.nanoTime();
+            hourlyRepository.deleteAllInBatch();
+            dailyRepository.deleteAllInBatch();
+
+            Deltas totals = new Deltas();
+            AtomicLong reservations = new AtomicLong();
+            // One result set open at a time
+            try (Stream<ReservationSlot> slots = reservationRepository.streamSlotsByStatusIn(COUNTED)) {
+                slots.forEach(slot -> {
+                    totals.add(slot.getRoomId(), slot.getStartTime(), slot.getEndTime(), 1);
+                    reservations.incrementAndGet();
+                });
+            }
+            try (Stream<ReservationSlot> slots = archiveRepository.streamSlotsByStatusIn(COUNTED)) {
+                slots.forEach(slot -> {
+                    totals.add(slot.getRoomId(), slot.getStartTime(), slot.getEndTime(), 1);
+                    reservations.incrementAndGet();
+                });
+            }
+
+            int written = 0;
+            for (Map.Entry<Bucket, long[]> entry : totals.hourly.entrySet()) {
+                Bucket bucket = entry.getKey();
+                entityManager.persist(new RoomUsageHourly(bucket.roomId(), bucket.start(),
+                        entry.getValue()[0], (int) entry.getValue()[1]));
+                flushEvery(++written);
+            }
+            for (Map.Entry<Bucket, long[]> entry : totals.daily.entrySet()) {
+                Bucket bucket = entry.getKey();
+                entityManager.persist(new RoomUsageDaily(bucket.roomId(), bucket.start().toLocalDate(),
+                        entry.getValue()[0], (int) entry.getValue()[1]));
+                flushEvery(++written);
+            }
+
+            long millis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+            log.info("Room usage rollups rebuilt from {} reservations: {} hourly and {} daily rows in {} ms",
+                    reservations.get(), totals.hourly.size(), totals.daily.size(), millis);
+            return new UtilizationRebuildReport(LocalDateTime.now(), reservations.get(), totals.hourly.size(),
+                    totals.daily.size(), millis);
+        });
+    }
+
+    private void flushEvery(int written) {
+        if (written % 1000 == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private static void add(Deltas deltas, ReservationState state, int sign) {
+        if (state != null && COUNTED.contains(state.status())) {
+            deltas.add(state.roomId(), state.startTime(), state.endTime(), sign);
+        }
+    }
+
+    // One accumulator per transaction, written out before commit
+    private Deltas pendingDeltas() {
+        Deltas pending = (Deltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Deltas created = new Deltas();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RoomUsageRollup.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void write(Deltas deltas) {
+        deltas.hourly.forEach((bucket, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                hourlyRepository.addUsage(bucket.roomId(), bucket.start(), delta[0], (int) delta[1]);
+            }
+        });
+        deltas.daily.forEach((bucket, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                dailyRepository.addUsage(bucket.roomId(), bucket.start().toLocalDate(), delta[0], (int) delta[1]);
+            }
+        });
+        deltas.hourly.clear();
+        deltas.daily.clear();
+    }
+
+    private record Bucket(Long roomId, LocalDateTime start) implements Comparable<Bucket> {
+
+        private static final Comparator<Bucket> ORDER =
+                Comparator.comparing(Bucket::roomId).thenComparing(Bucket::start);
+
+        @Override
+        public int compareTo(Bucket other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Booked minutes and bookings per bucket, as {@code [minutes, bookings]}. A booking counts in
+     * the bucket it starts in; its minutes go to every bucket it covers.
+     */
+    private static final class Deltas {
+
+        private final TreeMap<Bucket, long[]> hourly = new TreeMap<>();
+        private final TreeMap<Bucket, long[]> daily = new TreeMap<>();
+
+        void add(Long roomId, LocalDateTime startTime, LocalDateTime endTime, int sign) {
+            spread(hourly, roomId, startTime, endTime, ChronoUnit.HOURS, sign);
+            spread(daily, roomId, startTime, endTime, ChronoUnit.DAYS, sign);
+        }
+
+        void merge(Deltas other) {
+            other.hourly.forEach((bucket, delta) -> accumulate(hourly, bucket, delta[0], delta[1]));
+            other.daily.forEach((bucket, delta) -> accumulate(daily, bucket, delta[0], delta[1]));
+        }
+
+        boolean isEmpty() {
+            return hourly.values().stream().allMatch(delta -> delta[0] == 0 && delta[1] == 0)
+                    && daily.values().stream().allMatch(delta -> delta[0] == 0 && delta[1] == 0);
+        }
+
+        private static void spread(TreeMap<Bucket, long[]> buckets, Long roomId, LocalDateTime startTime,
+                                   LocalDateTime endTime, ChronoUnit unit, int sign) {
+            LocalDateTime first = startTime.truncatedTo(unit);
+            accumulate(buckets, new Bucket(roomId, first), 0, sign);
+            for (LocalDateTime bucket = first; bucket.isBefore(endTime); bucket = bucket.plus(1, unit)) {
+                LocalDateTime from = startTime.isAfter(bucket) ? startTime : bucket;
+                LocalDateTime next = bucket.plus(1, unit);
+                LocalDateTime to = endTime.isBefore(next) ? endTime : next;
+                long minutes = Duration.between(from, to).toMinutes();
+                if (minutes > 0) {
+                    accumulate(buckets, new Bucket(roomId, bucket), sign * minutes, 0);
+                }
+            }
+        }
+
+        private static void accumulate(TreeMap<Bucket, long[]> buckets, Bucket bucket, long minutes, long bookings) {
+            long[] delta = buckets.computeIfAbsent(bucket, key -> new long[2]);
+            delta[0] += minutes;
+            delta[1] += bookings;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Database leases that keep a scheduled job to one node at a time. Called outside transactions,
+ * so a lease is visible to other nodes as soon as it is taken. A holder that dies simply lets
+ * its lease expire.
+ */
+@Component
+public class SchedulerLeases {
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String owner = ownerName();
+
+    /**
+     * Takes the named lease, or extends it if this node already holds it.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        Integer updated = transactionTemplate.execute(status ->
+                leaseRepository.acquire(name, owner, duration.toSeconds()));
+        return updated != null && updated == 1;
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> leaseRepository.release(name, owner));
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    private static String ownerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "/" + ProcessHandle.current().pid() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationSlot;
+import com.example.mrbs.dto.ReservationView.RoomSummary;
+import com.example.mrbs.dto.SlotCandidate;
+import com.example.mrbs.dto.SlotSearchRequest;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomAvailability;
+import com.example.mrbs.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the earliest bookable (room, start) pairs for a meeting. Every matching room gets a cursor
+ * that walks its busy intervals in start order, and the cursors are merged through a priority
+ * queue on their next candidate, so each room's schedule is read once and only as far as needed.
+ * Candidates respect the booking rule that touching reservations conflict: a meeting starts
+ * strictly after the previous one ends.
+ */
+@Service
+public class SlotSearchService {
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Autowired
+    private ReservationOverlapIndex overlapIndex;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Value("${mrbs.slot-search.max-days:31}")
+    private int maxDays;
+
+    @Value("${mrbs.slot-search.max-results:50}")
+    private int maxResults;
+
+    public List<SlotCandidate> findNextAvailable(SlotSearchRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = request.getFromDate() == null || request.getFromDate().isBefore(now)
+                ? now : request.getFromDate();
+        LocalDateTime to = request.getToDate() == null ? from.plusDays(7) : request.getToDate();
+        validate(request, from, to);
+
+        List<MeetingRoom> rooms = matchingRooms(request);
+        Map<Long, List<ReservationSlot>> busy = busySlots(rooms, from, to);
+
+        Duration duration = Duration.ofMinutes(request.getDurationMinutes());
+        PriorityQueue<RoomCursor> queue = new PriorityQueue<>(Comparator
+                .comparing((RoomCursor cursor) -> cursor.candidate)
+                .thenComparing(cursor -> cursor.room.getId()));
+        for (MeetingRoom room : rooms) {
+            RoomCursor cursor = new RoomCursor(room, busy.getOrDefault(room.getId(), List.of()),
+                    request, duration, from, to);
+            if (cursor.seek()) {
+                queue.add(cursor);
+            }
+        }
+
+        List<SlotCandidate> candidates = new ArrayList<>(request.getLimit());
+        while (candidates.size() < request.getLimit() && !queue.isEmpty()) {
+            RoomCursor cursor = queue.poll();
+            MeetingRoom room = cursor.room;
+            candidates.add(new SlotCandidate(
+                    new RoomSummary(room.getId(), room.getName(), room.getLocation(), room.getCapacity()),
+                    cursor.candidate, cursor.candidate.plus(duration)));
+            if (cursor.nextGap()) {
+                queue.add(cursor);
+            }
+        }
+        return candidates;
+    }
+
+    private void validate(SlotSearchRequest request, LocalDateTime from, LocalDateTime to) {
+        if (request.getDurationMinutes() <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxDays)) > 0) {
+            throw new IllegalArgumentException("Slot search covers at most " + maxDays + " days");
+        }
+        if (!request.getWorkdayStart().isBefore(request.getWorkdayEnd())) {
+            throw new IllegalArgumentException("Working hours must start before they end");
+        }
+        if (request.getStepMinutes() <= 0 || request.getStepMinutes() > 24 * 60) {
+            throw new IllegalArgumentException("Step must be between 1 and 1440 minutes");
+        }
+        if (request.getLimit() <= 0 || request.getLimit() > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults);
+        }
+    }
+
+    private List<MeetingRoom> matchingRooms(SlotSearchRequest request) {
+        List<MeetingRoom> candidates = request.getLocation() == null
+                ? roomCatalog.withMinCapacity(request.getMinCapacity())
+                : roomService.findRoomsByLocation(request.getLocation());
+        return candidates.stream()
+                .filter(room -> room.getAvailability() == RoomAvailability.Available)
+                .filter(room -> room.getCapacity() >= request.getMinCapacity())
+                .toList();
+    }
+
+    // Sorted by start time per room
+    private Map<Long, List<ReservationSlot>> busySlots(List<MeetingRoom> rooms, LocalDateTime from, LocalDateTime to) {
+        if (rooms.isEmpty()) {
+            return Map.of();
+        }
+        if (overlapIndex.isAuthoritative()) {
+            return rooms.stream().collect(Collectors.toMap(MeetingRoom::getId,
+                    room -> overlapIndex.schedule(room.getId(), from, to).intervals().stream()
+                            .map(interval -> new ReservationSlot(interval.reservationId(), interval.roomId(),
+                                    interval.startTime(), interval.endTime()))
+                            .toList()));
+        }
+        List<Long> roomIds = rooms.stream().map(MeetingRoom::getId).toList();
+        return reservationRepository.findConfirmedSlotsOverlapping(roomIds, from, to).stream()
+                .sorted(Comparator.comparing(ReservationSlot::getStartTime))
+                .collect(Collectors.groupingBy(ReservationSlot::getRoomId));
+    }
+
+    /**
+     * Earliest fitting start of one room at or after a moving position; {@code busy} is only ever
+     * walked forward.
+     */
+    private static final class RoomCursor {
+
+        private final MeetingRoom room;
+        private final List<ReservationSlot> busy;
+        private final SlotSearchRequest request;
+        private final Duration duration;
+        private final LocalDateTime to;
+        private int next;
+        private LocalDateTime candidate;
+
+        RoomCursor(MeetingRoom room, List<ReservationSlot> busy, SlotSearchRequest request, Duration duration,
+                   LocalDateTime from, LocalDateTime to) {
+            this.room = room;
+            this.busy = busy;
+            this.request = request;
+            this.duration = duration;
+            this.to = to;
+            this.candidate = alignUp(from, false);
+        }
+
+        /**
+         * Moves {@code candidate} to the earliest fitting start at or after it; false when the
+         * window has no more room.
+         */
+        boolean seek() {
+            while (true) {
+                candidate = withinWorkingHours(candidate);
+                if (candidate == null) {
+                    return false;
+                }
+                LocalDateTime end = candidate.plus(duration);
+                while (next < busy.size() && busy.get(next).getEndTime().isBefore(candidate)) {
+                    next++;
+                }
+                if (next == busy.size() || busy.get(next).getStartTime().isAfter(end)) {
+                    return true;
+                }
+                // Conflicts with bounds included, so resume strictly after this reservation
+                candidate = alignUp(busy.get(next).getEndTime(), true);
+            }
+        }
+
+        /**
+         * Skips to the gap after the current candidate, so a room is offered once per gap.
+         */
+        boolean nextGap() {
+            LocalDateTime dayEnd = candidate.toLocalDate().atTime(request.getWorkdayEnd());
+            if (next < busy.size() && busy.get(next).getStartTime().isBefore(dayEnd)) {
+                candidate = alignUp(busy.get(next).getEndTime(), true);
+            } else {
+                candidate = workdayStart(candidate.toLocalDate().plusDays(1));
+            }
+            return seek();
+        }
+
+        // Clamps into the working hours of the same or a later day; null past the search window
+        private LocalDateTime withinWorkingHours(LocalDateTime time) {
+            LocalTime workdayEnd = request.getWorkdayEnd();
+            LocalDateTime start = time;
+            while (true) {
+                if (start.toLocalTime().isBefore(request.getWorkdayStart())) {
+                    start = workdayStart(start.toLocalDate());
+                }
+                boolean workingDay = request.isIncludeWeekends()
+                        || (start.getDayOfWeek() != DayOfWeek.SATURDAY && start.getDayOfWeek() != DayOfWeek.SUNDAY);
+                LocalDateTime end = start.plus(duration);
+                if (end.isAfter(to)) {
+                    return null;
+                }
+                if (workingDay && !end.isAfter(start.toLocalDate().atTime(workdayEnd))
+                        && end.toLocalDate().equals(start.toLocalDate())) {
+                    return start;
+                }
+                start = workdayStart(start.toLocalDate().plusDays(1));
+            }
+        }
+
+        private LocalDateTime workdayStart(LocalDate date) {
+            return alignUp(date.atTime(request.getWorkdayStart()), false);
+        }
+
+        // Next multiple of the step after midnight at or after (or strictly after) the given time
+        private LocalDateTime alignUp(LocalDateTime time, boolean strictlyAfter) {
+            LocalDateTime midnight = time.truncatedTo(ChronoUnit.DAYS);
+            long step = Duration.ofMinutes(request.getStepMinutes()).toNanos();
+            long offset = Duration.between(midnight, time).toNanos();
+            long steps = strictlyAfter ? offset / step + 1 : (offset + step - 1) / step;
+            return midnight.plusNanos(steps * step);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of users by email, so authenticated requests resolve the caller without a
+ * users query. Entries are evicted when a user is changed or deleted on this instance and expire
+ * after {@code ttl-ms}, so role changes and deletions made elsewhere apply within that time;
+ * cached instances are shared and must not be modified.
+ */
+@Component
+public class UserCache {
+
+    private final Map<String, CachedUser> users;
+
+    private final long ttlNanos;
+
+    public UserCache(@Value("${mrbs.user-cache.max-size:10000}") int maxSize,
+                     @Value("${mrbs.user-cache.ttl-ms:30000}") long ttlMillis) {
+        users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+        ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        synchronized (users) {
+            CachedUser cached = users.get(email);
+            if (cached != null) {
+                if (System.nanoTime() - cached.loadedAt() < ttlNanos) {
+                    return Optional.of(cached.user());
+                }
+                users.remove(email);
+            }
+        }
+
+        // Load outside the lock; a concurrent load of the same email just replaces an equal entry
+        Optional<User> loaded = loader.apply(email);
+        loaded.ifPresent(user -> {
+            synchronized (users) {
+                users.put(email, new CachedUser(user, System.nanoTime()));
+            }
+        });
+        return loaded;
+    }
+
+    public void evict(String email) {
+        synchronized (users) {
+            users.remove(email);
+        }
+
+        // Evict again once the change is committed, in case a concurrent request reloaded the old row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (users) {
+                        users.remove(email);
+                    }
+                }
+            });
+        }
+    }
+
+    public int size() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    private record CachedUser(User user, long loadedAt) {
+    }
+}
\ No newline at end of file
@@ -1,24 +1,28 @@
 package com.example.mrbs.service;
 
+import com.example.mrbs.config.UserPrincipal;
+import com.example.mrbs.dto.CursorPage;
+import com.example.mrbs.dto.PageCursor;
 import com.example.mrbs.dto.SignupRequest;
 import com.example.mrbs.exception.EmailDomainException;
 import com.example.mrbs.exception.ResourceNotFoundException;
 import com.example.mrbs.model.User;
 import com.example.mrbs.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
 import java.util.List;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -26,16 +30,30 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    // Only used by the login flow, so it always reads the current password hash
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        return UserPrincipal.of(user);
+    }
+
+    // Called on login when the stored hash is below the configured BCrypt cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails principal, String newPassword) {
+        User user = userRepository.findByEmail(principal.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + principal.getUsername()));
+        user.setPassword(newPassword);
+        userCache.evict(user.getEmail());
+        return UserPrincipal.of(userRepository.save(user));
     }
 
     @Transactional
@@ -69,7 +87,7 @@ public class UserService implements UserDetailsService {
 
     @Transactional(readOnly = true)
     public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return userCache.get(email, userRepository::findByEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
     }
 
@@ -84,10 +102,23 @@ public class UserService implements UserDetailsService {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<User> findAllUsers(String cursor, Integer limit) {
+        return CursorPage.of(userRepository.findAllBy(
+                PageCursor.position(cursor), Sort.by("id"), Limit.of(PageCursor.limit(limit))));
+    }
+
     @Transactional
     public User updateUser(String email, User userDetails) {
-        User user = findByEmail(email);
+        // Load a fresh copy, cached users are shared
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        userCache.evict(email);
 
+        // Organizer names appear in every schedule response
+        if (!user.getName().equals(userDetails.getName())) {
+            resourceVersions.invalidateAll();
+        }
         user.setName(userDetails.getName());
 
         // We don't update email or password here for security reasons
@@ -107,6 +138,7 @@ public class UserService implements UserDetailsService {
         } else {
             throw new IllegalArgumentException("Invalid role: " + role);
         }
+        userCache.evict(user.getEmail());
 
         return userRepository.save(user);
     }
@@ -115,5 +147,7 @@ public class UserService implements UserDetailsService {
     public void deleteUser(Long id) {
         User user = findById(id);
         userRepository.delete(user);
+        userCache.evict(user.getEmail());
+        resourceVersions.invalidateAll();
     }
 }
\ No newline at end of file
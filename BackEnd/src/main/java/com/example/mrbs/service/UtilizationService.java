@@ -0,0 +1,107 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.HourOfDayUtilization;
+import com.example.mrbs.dto.LocationUtilization;
+import com.example.mrbs.dto.RoomUsageTotal;
+import com.example.mrbs.dto.RoomUtilization;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.MeetingRoom.RoomLocation;
+import com.example.mrbs.repository.RoomUsageDailyRepository;
+import com.example.mrbs.repository.RoomUsageHourlyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Occupancy dashboards, read only from the usage rollups so their cost depends on the period
+ * asked for and not on how much history is kept. Room names and locations come from the catalog.
+ */
+@Service
+public class UtilizationService {
+
+    @Autowired
+    private RoomUsageDailyRepository dailyRepository;
+
+    @Autowired
+    private RoomUsageHourlyRepository hourlyRepository;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Value("${mrbs.utilization.open-hours-per-day:10}")
+    private int openHoursPerDay;
+
+    public List<RoomUtilization> findRoomUtilization(LocalDate fromDate, LocalDate toDate, String location) {
+        validate(fromDate, toDate);
+        Map<Long, RoomUsageTotal> totals = dailyRepository.sumByRoom(fromDate, toDate).stream()
+                .collect(Collectors.toMap(RoomUsageTotal::getRoomId, Function.identity()));
+        long openMinutes = openMinutes(fromDate, toDate);
+
+        List<RoomUtilization> rooms = new ArrayList<>();
+        for (MeetingRoom room : rooms(location)) {
+            RoomUsageTotal total = totals.get(room.getId());
+            long minutes = total == null ? 0 : total.getBookedMinutes();
+            long bookings = total == null ? 0 : total.getBookings();
+            rooms.add(new RoomUtilization(room.getId(), room.getName(), room.getLocation(), minutes, bookings,
+                    occupancy(minutes, openMinutes)));
+        }
+        return rooms;
+    }
+
+    public List<LocationUtilization> findLocationUtilization(LocalDate fromDate, LocalDate toDate) {
+        List<RoomUtilization> rooms = findRoomUtilization(fromDate, toDate, null);
+        long openMinutes = openMinutes(fromDate, toDate);
+
+        Map<RoomLocation, List<RoomUtilization>> byLocation = rooms.stream()
+                .collect(Collectors.groupingBy(RoomUtilization::getLocation));
+        List<LocationUtilization> locations = new ArrayList<>();
+        for (RoomLocation location : RoomLocation.values()) {
+            List<RoomUtilization> atLocation = byLocation.getOrDefault(location, List.of());
+            long minutes = atLocation.stream().mapToLong(RoomUtilization::getBookedMinutes).sum();
+            long bookings = atLocation.stream().mapToLong(RoomUtilization::getBookings).sum();
+            locations.add(new LocationUtilization(location, atLocation.size(), minutes, bookings,
+                    occupancy(minutes, openMinutes * atLocation.size())));
+        }
+        return locations;
+    }
+
+    public List<HourOfDayUtilization> findHourOfDayUtilization(LocalDate fromDate, LocalDate toDate, String location) {
+        validate(fromDate, toDate);
+        if (location == null) {
+            return hourlyRepository.sumByHourOfDay(fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+        }
+        List<Long> roomIds = rooms(location).stream().map(MeetingRoom::getId).toList();
+        if (roomIds.isEmpty()) {
+            return List.of();
+        }
+        return hourlyRepository.sumByHourOfDayForRooms(roomIds, fromDate.atStartOfDay(),
+                toDate.plusDays(1).atStartOfDay());
+    }
+
+    private List<MeetingRoom> rooms(String location) {
+        return location == null ? roomService.findAllRooms() : roomService.findRoomsByLocation(location);
+    }
+
+    private void validate(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
+    // Open time of one room over the inclusive date range
+    private long openMinutes(LocalDate fromDate, LocalDate toDate) {
+        return (ChronoUnit.DAYS.between(fromDate, toDate) + 1) * openHoursPerDay * 60L;
+    }
+
+    private static double occupancy(long bookedMinutes, long openMinutes) {
+        return openMinutes == 0 ? 0 : Math.round(bookedMinutes * 1000.0 / openMinutes) / 1000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+-- Objects added after the Hibernate-generated baseline, before Flyway owned the schema:
+-- recurring reservation series, the series link on reservations, and pooled reservation ids.
+
+CREATE TABLE reservation_series (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT       NOT NULL,
+    room_id          BIGINT       NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    start_time       DATETIME(6)  NOT NULL,
+    end_time         DATETIME(6)  NOT NULL,
+    frequency        VARCHAR(255) NOT NULL,
+    repeat_interval  INT          NOT NULL,
+    until_date       DATE,
+    occurrence_count INT,
+    status           VARCHAR(255),
+    created_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservation_series_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reservation_series_room FOREIGN KEY (room_id) REFERENCES meeting_rooms (id)
+);
+
+ALTER TABLE reservations ADD COLUMN series_id BIGINT;
+
+-- Reservation.id uses a table generator so inserts can be batched; ids are no longer issued
+-- by the column
+ALTER TABLE reservations MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE id_generators (
+    gen_name  VARCHAR(255) NOT NULL,
+    gen_value BIGINT,
+    PRIMARY KEY (gen_name)
+);
@@ -0,0 +1,19 @@
+-- Indexes matched to the ReservationRepository queries. InnoDB appends the primary key to
+-- every secondary index, so "ORDER BY start_time, id" is served by any index ending in start_time.
+
+-- Overlap checks (existsOverlappingReservation*, findConfirmedSlotsOverlapping), the confirmed
+-- slot load behind the overlap index and the available-rooms subquery. Covering: all four
+-- filtered columns plus the id are in the index.
+CREATE INDEX ix_reservations_status_room_time ON reservations (status, room_id, start_time, end_time);
+
+-- Room schedule and date range (findByRoomIdAndDateRange, findViews*ByRoomId*)
+CREATE INDEX ix_reservations_room_time ON reservations (room_id, start_time, end_time);
+
+-- A user's reservations in start order (findViews*ByUserEmail)
+CREATE INDEX ix_reservations_user_start ON reservations (user_id, start_time);
+
+-- Keyset pages and the export over all reservations (findViewPage, streamViews)
+CREATE INDEX ix_reservations_start ON reservations (start_time);
+
+-- Occurrences of a series (findConfirmedViewsBySeriesId, series edits)
+CREATE INDEX ix_reservations_series ON reservations (series_id, status, start_time);
@@ -0,0 +1,25 @@
+-- Booked minutes and booking counts per room, maintained incrementally by the reservation write
+-- paths. A booking counts in the hour and day it starts; its minutes are split across every
+-- hour and day it covers. Confirmed and completed reservations count, cancelled ones do not.
+
+CREATE TABLE room_usage_hourly (
+    room_id        BIGINT      NOT NULL,
+    bucket_start   DATETIME(6) NOT NULL,
+    booked_minutes BIGINT      NOT NULL,
+    bookings       INT         NOT NULL,
+    PRIMARY KEY (room_id, bucket_start),
+    CONSTRAINT fk_room_usage_hourly_room FOREIGN KEY (room_id) REFERENCES meeting_rooms (id)
+);
+
+CREATE INDEX ix_room_usage_hourly_bucket ON room_usage_hourly (bucket_start);
+
+CREATE TABLE room_usage_daily (
+    room_id        BIGINT NOT NULL,
+    bucket_date    DATE   NOT NULL,
+    booked_minutes BIGINT NOT NULL,
+    bookings       INT    NOT NULL,
+    PRIMARY KEY (room_id, bucket_date),
+    CONSTRAINT fk_room_usage_daily_room FOREIGN KEY (room_id) REFERENCES meeting_rooms (id)
+);
+
+CREATE INDEX ix_room_usage_daily_bucket ON room_usage_daily (bucket_date);
@@ -0,0 +1,14 @@
+-- Time-limited leases so a scheduled job runs on one node at a time. A node may take a lease
+-- that is free, expired or already its own; lease_until is in database time.
+
+CREATE TABLE scheduler_leases (
+    name        VARCHAR(64)  NOT NULL,
+    owner       VARCHAR(255),
+    lease_until DATETIME(6),
+    PRIMARY KEY (name)
+);
+
+INSERT INTO scheduler_leases (name) VALUES ('reservation-completion');
+
+-- Ended confirmed reservations, oldest first, for the completion job
+CREATE INDEX ix_reservations_status_end ON reservations (status, end_time);
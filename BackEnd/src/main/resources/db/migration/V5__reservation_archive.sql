@@ -0,0 +1,28 @@
+-- Finished and cancelled reservations past the retention horizon, moved out of reservations by
+-- the archive job so the live table only holds recent history. Same columns plus archived_at;
+-- ids are kept, so a row can be moved back unchanged.
+
+CREATE TABLE reservations_archive (
+    id          BIGINT       NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    room_id     BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    start_time  DATETIME(6)  NOT NULL,
+    end_time    DATETIME(6)  NOT NULL,
+    status      VARCHAR(255),
+    series_id   BIGINT,
+    created_at  DATETIME(6),
+    archived_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservations_archive_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reservations_archive_room FOREIGN KEY (room_id) REFERENCES meeting_rooms (id)
+);
+
+-- History pages per room and per user, and the whole archive in start order
+CREATE INDEX ix_reservations_archive_room_start ON reservations_archive (room_id, start_time, id);
+CREATE INDEX ix_reservations_archive_user_start ON reservations_archive (user_id, start_time, id);
+CREATE INDEX ix_reservations_archive_start ON reservations_archive (start_time, id);
+-- Restores by end time
+CREATE INDEX ix_reservations_archive_end ON reservations_archive (end_time);
+
+INSERT INTO scheduler_leases (name) VALUES ('reservation-archive');
@@ -0,0 +1,24 @@
+-- Room feedback as an append-only log instead of meeting_rooms.description, which each new
+-- entry overwrote and which every room payload carried. Existing descriptions become the first
+-- entry of their room.
+
+CREATE TABLE room_feedback (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    room_id    BIGINT      NOT NULL,
+    user_id    BIGINT,
+    feedback   TEXT        NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_room_feedback_room FOREIGN KEY (room_id) REFERENCES meeting_rooms (id) ON DELETE CASCADE,
+    CONSTRAINT fk_room_feedback_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE SET NULL
+);
+
+-- Newest first per room, for pages and the latest-entries summary
+CREATE INDEX ix_room_feedback_room_created ON room_feedback (room_id, created_at, id);
+
+INSERT INTO room_feedback (room_id, feedback, created_at)
+SELECT id, description, COALESCE(created_at, CURRENT_TIMESTAMP(6))
+FROM meeting_rooms
+WHERE description IS NOT NULL AND description <> '';
+
+ALTER TABLE meeting_rooms DROP COLUMN description;
@@ -0,0 +1,9 @@
+-- Rollup rows are derived data and must not keep a room from being deleted; they go with it.
+
+ALTER TABLE room_usage_hourly DROP FOREIGN KEY fk_room_usage_hourly_room;
+ALTER TABLE room_usage_hourly
+    ADD CONSTRAINT fk_room_usage_hourly_room FOREIGN KEY (room_id) REFERENCES meeting_rooms (id) ON DELETE CASCADE;
+
+ALTER TABLE room_usage_daily DROP FOREIGN KEY fk_room_usage_daily_room;
+ALTER TABLE room_usage_daily
+    ADD CONSTRAINT fk_room_usage_daily_room FOREIGN KEY (room_id) REFERENCES meeting_rooms (id) ON DELETE CASCADE;
@@ -0,0 +1,14 @@
+-- Starts pooled reservation ids above every id issued so far, including ids the IDENTITY column
+-- handed out before V1_1 and ids now only present in the archive. Hibernate's pooled optimizer
+-- treats the stored value as the top of the next block of 50 (Reservation's allocationSize) and
+-- issues the 49 ids below it first, so the seed is the highest id plus 50.
+
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'reservations', 0 FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE gen_name = 'reservations');
+
+UPDATE id_generators
+SET gen_value = GREATEST(COALESCE(gen_value, 0),
+        (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations),
+        (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations_archive))
+WHERE gen_name = 'reservations';
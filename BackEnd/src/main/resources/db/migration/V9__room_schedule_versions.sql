@@ -0,0 +1,4 @@
+-- Moved by every reservation write for the room, in the same transaction. Room ETags are derived
+-- from it instead of from per-instance counters, so every instance serves the same tags.
+
+ALTER TABLE meeting_rooms ADD COLUMN schedule_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,106 @@
+package com.example.mrbs.config;
+
+import com.example.mrbs.repository.MeetingRoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Boots the virtual-threads profile and checks that database work is capped by the concurrency
+ * limit rather than by the number of threads asking for it. The virtual thread checks only run on
+ * Java 21 ({@code mvn -Pjava21 test}); on Java 17 they are skipped.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_virtual_threads;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "mrbs.datasource.max-concurrency=3"
+})
+@ActiveProfiles("virtual-threads")
+class VirtualThreadProfileTest {
+
+    private static final int THREADS = 24;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    // The profile turns the pinning monitor on; injection fails if it stops doing so
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Test
+    void asyncWorkRunsOnVirtualThreadsOnJava21() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        Thread worker = taskExecutor.submit(Thread::currentThread).get(1, TimeUnit.MINUTES);
+        // Thread.isVirtual is not in the Java 17 API the default build compiles against
+        assertThat((boolean) Thread.class.getMethod("isVirtual").invoke(worker)).isTrue();
+        assertThat(pinningMonitor.isRunning()).isTrue();
+    }
+
+    @Test
+    void transactionsAreBoundedByTheConcurrencyLimit() throws Exception {
+        assertThat(dataSource).isInstanceOf(BoundedDataSource.class);
+        BoundedDataSource bounded = (BoundedDataSource) dataSource;
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS * 4; i++) {
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        roomRepository.count();
+                        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(5);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        active.decrementAndGet();
+                    });
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(peak.get()).isBetween(1, 3);
+        // Every connection was closed, so every permit came back
+        assertThat(bounded.getAvailablePermits()).isEqualTo(3);
+        assertThat(bounded.getWaiting()).isZero();
+    }
+}
\ No newline at end of file
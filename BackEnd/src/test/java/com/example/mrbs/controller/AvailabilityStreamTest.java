@@ -0,0 +1,104 @@
+package com.example.mrbs.controller;
+
+import com.example.mrbs.config.JwtTokenProvider;
+import com.example.mrbs.config.UserPrincipal;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.RoomDto;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.UserRepository;
+import com.example.mrbs.service.MeetingRoomService;
+import com.example.mrbs.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:mrbs_availability_stream;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class AvailabilityStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Test
+    void subscribersReceiveCommittedChangesForTheirRoomsOnly() throws Exception {
+        User user = new User();
+        user.setName("Stream Watcher");
+        user.setEmail("stream.watcher@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        userRepository.save(user);
+        String token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(UserPrincipal.of(user), null));
+
+        Long watched = room("Stream Room Watched", MeetingRoom.RoomLocation.Pune_Baner);
+        Long other = room("Stream Room Other", MeetingRoom.RoomLocation.Hyderabad);
+
+        mockMvc.perform(get("/api/rooms/stream")).andExpect(status().isForbidden());
+        MockHttpServletResponse stream = mockMvc.perform(get("/api/rooms/stream")
+                        .param("roomIds", watched.toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        reservationService.createReservation(user.getEmail(), new ReservationDto(other, "Elsewhere", start, start.plusHours(1)));
+        Long booked = reservationService.createReservation(user.getEmail(),
+                new ReservationDto(watched, "Watched", start, start.plusHours(1))).getId();
+        reservationService.cancelReservation(booked, user.getEmail());
+        roomService.updateRoom(watched, new RoomDto("Stream Room Watched", "Pune Baner", 12, "Under_Maintenance", null));
+
+        String events = awaitContent(stream, "event:room");
+        assertThat(events).startsWith("event:ready");
+        assertThat(events).contains("\"reservationId\":" + booked + ",\"startTime\":\"" + start + ":00\"");
+        assertThat(events).contains("\"busy\":true").contains("\"busy\":false");
+        assertThat(events).contains("\"capacity\":12,\"availability\":\"Under_Maintenance\",\"deleted\":false");
+        assertThat(events).doesNotContain("\"roomId\":" + other + ",");
+    }
+
+    private Long room(String name, MeetingRoom.RoomLocation location) {
+        MeetingRoom room = new MeetingRoom();
+        room.setName(name);
+        room.setLocation(location);
+        room.setCapacity(8);
+        return roomRepository.save(room).getId();
+    }
+
+    // Events are written by the hub's sender threads
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+}
\ No newline at end of file
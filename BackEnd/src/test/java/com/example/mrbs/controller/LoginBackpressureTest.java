@@ -0,0 +1,109 @@
+package com.example.mrbs.controller;
+
+import com.example.mrbs.config.BoundedPasswordEncoder;
+import com.example.mrbs.exception.GlobalExceptionHandler;
+import com.example.mrbs.exception.GlobalExceptionHandler.ErrorResponse;
+import com.example.mrbs.exception.PasswordHashingBusyException;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_login;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "mrbs.auth.bcrypt-cost=5"
+})
+@AutoConfigureMockMvc
+class LoginBackpressureTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void loginRehashesBelowTheConfiguredCost() throws Exception {
+        User user = new User();
+        user.setName("Rehash Me");
+        user.setEmail("rehash.me@jadeglobal.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret-password"));
+        userRepository.save(user);
+
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"rehash.me@jadeglobal.com\",\"password\":\"secret-password\"}"))
+                .andExpect(status().isOk());
+
+        String rehashed = userRepository.findByEmail(user.getEmail()).orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("$2a$05$");
+        assertThat(new BCryptPasswordEncoder().matches("secret-password", rehashed)).isTrue();
+        assertThat(meterRegistry.get("mrbs.auth.hashing.wait").timer().count()).isPositive();
+    }
+
+    @Test
+    void fullHashingQueueTurnsCallersAwayAtOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 10_000, 3, new SimpleMeterRegistry());
+        try {
+            // One call hashing, one queued
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            Thread.sleep(200);
+
+            // Busy pool: no rehash, and a third call is rejected without waiting
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("c"))).isFalse();
+            assertThatThrownBy(() -> encoder.encode("c"))
+                    .isInstanceOf(PasswordHashingBusyException.class)
+                    .extracting(e -> ((PasswordHashingBusyException) e).getRetryAfterSeconds()).isEqualTo(3L);
+
+            release.countDown();
+            assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+            assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void busyResponseCarriesRetryAfter() {
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+                .handlePasswordHashingBusyException(new PasswordHashingBusyException("busy", 2));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+}
\ No newline at end of file
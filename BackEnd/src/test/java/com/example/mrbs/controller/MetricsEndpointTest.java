@@ -0,0 +1,110 @@
+package com.example.mrbs.controller;
+
+import com.example.mrbs.config.JwtTokenProvider;
+import com.example.mrbs.config.UserPrincipal;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.exception.RoomNotAvailableException;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.UserRepository;
+import com.example.mrbs.service.ReservationService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_metrics;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "management.endpoints.web.exposure.include=health,prometheus"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private String adminToken;
+    private String employeeToken;
+
+    @BeforeAll
+    void seed() {
+        User admin = saveUser("Metrics Admin", "metrics.admin@jadeglobal.com", User.UserRole.admin);
+        User employee = saveUser("Metrics Employee", "metrics.employee@jadeglobal.com", User.UserRole.employee);
+        adminToken = token(admin);
+        employeeToken = token(employee);
+
+        MeetingRoom room = new MeetingRoom();
+        room.setName("Metrics Room");
+        room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+        room.setCapacity(6);
+        Long roomId = roomRepository.save(room).getId();
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(10, 0);
+        ReservationDto booking = new ReservationDto(roomId, "Metrics sync", start, start.plusHours(1));
+        reservationService.createReservation(employee.getEmail(), booking);
+        assertThatThrownBy(() -> reservationService.createReservation(employee.getEmail(), booking))
+                .isInstanceOf(RoomNotAvailableException.class);
+    }
+
+    @Test
+    void prometheusScrapeIsAdminOnly() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheusScrapeExposesBookingMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("mrbs_booking_attempts_total{location=\"Hyderabad\",outcome=\"booked\"")))
+                .andExpect(content().string(containsString("outcome=\"conflict\"")))
+                .andExpect(content().string(containsString("mrbs_booking_overlap_check_seconds_count")))
+                .andExpect(content().string(containsString("mrbs_jwt_verify_seconds_count")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("http_server_requests_seconds")));
+    }
+
+    private User saveUser(String name, String email, User.UserRole role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("not-a-real-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(UserPrincipal.of(user), null));
+    }
+}
\ No newline at end of file
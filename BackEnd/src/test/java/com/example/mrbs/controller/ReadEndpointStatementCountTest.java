@@ -0,0 +1,370 @@
+package com.example.mrbs.controller;
+
+import com.example.mrbs.config.JwtTokenProvider;
+import com.example.mrbs.config.UserPrincipal;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.ReservationSeriesDto;
+import com.example.mrbs.dto.RoomDto;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.ReservationSeries.Frequency;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.UserRepository;
+import com.example.mrbs.service.MeetingRoomService;
+import com.example.mrbs.service.ReservationSeriesService;
+import com.example.mrbs.service.ReservationService;
+import com.example.mrbs.service.ResourceVersions;
+import com.example.mrbs.service.RoomCatalog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each read endpoint issues, so an N+1 or an extra identity
+ * lookup fails the build. Counts assume a warm user cache.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_statement_count;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadEndpointStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationSeriesService seriesService;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    private Statistics statistics;
+    private String token;
+    private Long roomId;
+    private Long quietRoomId;
+    private Long feedbackRoomId;
+    private Long seriesId;
+
+    @BeforeAll
+    void seed() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User admin = new User();
+        admin.setName("Statement Counter");
+        admin.setEmail("statement.counter@jadeglobal.com");
+        admin.setPassword("not-a-real-hash");
+        admin.setRole(User.UserRole.admin);
+        userRepository.save(admin);
+
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MeetingRoom room = new MeetingRoom();
+            room.setName("Count Room " + i);
+            room.setLocation(MeetingRoom.RoomLocation.Pune_Baner);
+            room.setCapacity(6);
+            roomIds.add(roomRepository.save(room).getId());
+        }
+        roomId = roomIds.get(0);
+        feedbackRoomId = roomIds.get(1);
+        quietRoomId = roomIds.get(2);
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(8, 0);
+        List<ReservationDto> reservations = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            LocalDateTime slot = start.plusMinutes(30L * (i / 3));
+            reservations.add(new ReservationDto(roomIds.get(i % 3), "Meeting " + i, slot, slot.plusMinutes(20)));
+        }
+        reservationService.createReservations(admin.getEmail(), reservations);
+
+        LocalDateTime weekly = start.plusDays(1);
+        seriesId = seriesService.createSeries(admin.getEmail(), new ReservationSeriesDto(roomId, "Weekly sync",
+                weekly, weekly.plusHours(1), Frequency.weekly, 1, null, 4)).getSeries().getId();
+
+        token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(UserPrincipal.of(admin), null));
+
+        // Warm the user cache
+        mockMvc.perform(authorized(get("/api/users/profile"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void reservationListsUseOneStatement() throws Exception {
+        assertStatements(1, "/api/admin/reservations")
+                .andExpect(jsonPath("$.length()").value(34))
+                .andExpect(jsonPath("$[0].room.name").exists())
+                .andExpect(jsonPath("$[0].room.description").doesNotExist())
+                .andExpect(jsonPath("$[0].user.email").value("statement.counter@jadeglobal.com"));
+        assertStatements(1, "/api/admin/reservations/room/" + roomId);
+        assertStatements(1, "/api/users/reservations");
+        assertStatements(1, "/api/rooms/" + roomId + "/schedule");
+        assertStatements(1, "/api/rooms/" + roomId + "/schedule?fromDate=" + LocalDate.now().atStartOfDay()
+                + "&toDate=" + LocalDate.now().plusDays(3).atStartOfDay());
+    }
+
+    @Test
+    void roomReadsComeFromTheCatalog() throws Exception {
+        // Warm the snapshot
+        mockMvc.perform(authorized(get("/api/rooms"))).andExpect(status().isOk());
+
+        assertStatements(0, "/api/rooms")
+                .andExpect(jsonPath("$.length()").value(3));
+        assertStatements(0, "/api/rooms/" + roomId);
+        assertStatements(0, "/api/rooms/location/Pune_Baner");
+        assertStatements(0, "/api/rooms/capacity/6")
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void freeBusyUsesTheIndexAndOneStatementForDetails() throws Exception {
+        LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+        String window = "&fromDate=" + day + "&toDate=" + day.plusDays(1);
+
+        // Ten 20-minute meetings every half hour from 08:00, as minute offsets from midnight
+        assertStatements(0, "/api/rooms/free-busy?roomIds=" + roomId + window)
+                .andExpect(jsonPath("$.rooms[0].starts.length()").value(10))
+                .andExpect(jsonPath("$.rooms[0].starts[0]").value(480))
+                .andExpect(jsonPath("$.rooms[0].ends[0]").value(500))
+                .andExpect(jsonPath("$.rooms[0].reservations").doesNotExist());
+        assertStatements(0, "/api/rooms/free-busy?location=Pune_Baner" + window)
+                .andExpect(jsonPath("$.rooms.length()").value(3));
+        assertStatements(1, "/api/rooms/free-busy?location=Pune_Baner&details=true" + window)
+                .andExpect(jsonPath("$.rooms[0].reservations.length()").value(10))
+                .andExpect(jsonPath("$.rooms[0].reservations[0].title").value("Meeting 0"));
+    }
+
+    @Test
+    void unchangedResourcesAnswer304WithoutStatements() throws Exception {
+        String schedule = "/api/rooms/" + quietRoomId + "/schedule";
+        String scheduleTag = mockMvc.perform(authorized(get(schedule))).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String catalogTag = mockMvc.perform(authorized(get("/api/rooms"))).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        statistics.clear();
+        mockMvc.perform(authorized(get(schedule)).header("If-None-Match", scheduleTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", scheduleTag));
+        mockMvc.perform(authorized(get("/api/rooms")).header("If-None-Match", catalogTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // A committed write to the room moves both tags
+        roomService.updateRoom(quietRoomId, new RoomDto("Count Room 2", "Pune_Baner", 8, "Available", null));
+        mockMvc.perform(authorized(get(schedule)).header("If-None-Match", scheduleTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/api/rooms")).header("If-None-Match", catalogTag))
+                .andExpect(status().isOk());
+
+        // A refresh that finds nothing new keeps the tags, which only depend on what is stored
+        String refreshedTag = mockMvc.perform(authorized(get(schedule))).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String refreshedCatalogTag = mockMvc.perform(authorized(get("/api/rooms"))).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        roomCatalog.refresh();
+        mockMvc.perform(authorized(get(schedule)).header("If-None-Match", refreshedTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(authorized(get("/api/rooms")).header("If-None-Match", refreshedCatalogTag))
+                .andExpect(status().isNotModified());
+
+        // A booking on another instance moves the room's tag with the next refresh, not the catalog's
+        transactionTemplate.executeWithoutResult(status -> roomRepository.incrementScheduleVersions(List.of(quietRoomId)));
+        roomCatalog.refresh();
+        mockMvc.perform(authorized(get(schedule)).header("If-None-Match", refreshedTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/api/rooms")).header("If-None-Match", refreshedCatalogTag))
+                .andExpect(status().isNotModified());
+
+        // Changes made on this instance, like an organizer rename, move room tags as soon as they commit
+        String renamedTag = mockMvc.perform(authorized(get(schedule))).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        resourceVersions.invalidateAll();
+        mockMvc.perform(authorized(get(schedule)).header("If-None-Match", renamedTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void binaryEncodingsAreNegotiated() throws Exception {
+        String url = "/api/rooms/" + roomId + "/schedule";
+        MvcResult json = mockMvc.perform(authorized(get(url))).andExpect(status().isOk()).andReturn();
+        MvcResult smile = mockMvc.perform(authorized(get(url)).header("Accept", "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-jackson-smile"))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(authorized(get(url)).header("Accept", "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/cbor"))
+                .andReturn();
+
+        // Same document in every encoding, each under its own tag
+        JsonNode expected = new ObjectMapper().readTree(json.getResponse().getContentAsByteArray());
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(smile.getResponse().getContentAsByteArray()))
+                .isEqualTo(expected);
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor.getResponse().getContentAsByteArray()))
+                .isEqualTo(expected);
+        assertThat(smile.getResponse().getContentAsByteArray().length)
+                .isLessThan(json.getResponse().getContentAsByteArray().length);
+        assertThat(List.of(json.getResponse().getHeader("ETag"), smile.getResponse().getHeader("ETag"),
+                cbor.getResponse().getHeader("ETag"))).doesNotHaveDuplicates();
+        assertThat(json.getResponse().getHeaders("Vary")).contains("Accept");
+
+        // The tag follows the negotiated type, q-values included, not whatever the header mentions
+        MvcResult preferSmile = mockMvc.perform(authorized(get(url))
+                        .header("Accept", "application/cbor;q=0.5, application/x-jackson-smile"))
+                .andExpect(header().string("Content-Type", "application/x-jackson-smile"))
+                .andReturn();
+        MvcResult preferJson = mockMvc.perform(authorized(get(url))
+                        .header("Accept", "application/x-jackson-smile;q=0.1, application/json"))
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andReturn();
+        assertThat(preferSmile.getResponse().getHeader("ETag")).isEqualTo(smile.getResponse().getHeader("ETag"));
+        assertThat(preferJson.getResponse().getHeader("ETag")).isEqualTo(json.getResponse().getHeader("ETag"));
+        MvcResult notModified = mockMvc.perform(authorized(get(url))
+                        .header("Accept", "application/x-jackson-smile;q=0.1, application/json")
+                        .header("If-None-Match", json.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(notModified.getResponse().getHeaders("Vary")).contains("Accept");
+    }
+
+    @Test
+    void cursorPagesUseOneStatement() throws Exception {
+        MvcResult first = assertStatements(1, "/api/admin/reservations?limit=10")
+                .andExpect(jsonPath("$.items.length()").value(10))
+                .andReturn();
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+
+        assertStatements(1, "/api/admin/reservations?limit=10&cursor=" + cursor)
+                .andExpect(jsonPath("$.items.length()").value(10));
+        assertStatements(1, "/api/users/reservations?limit=5");
+        assertStatements(1, "/api/rooms/" + roomId + "/schedule?limit=5");
+    }
+
+    @Test
+    void feedbackIsPagedAndSummarizedOutsideRoomPayloads() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(authorized(post("/api/rooms/" + feedbackRoomId + "/feedback")).param("feedback", "Note " + i))
+                    .andExpect(status().isCreated());
+        }
+        assertStatements(0, "/api/rooms/" + feedbackRoomId)
+                .andExpect(jsonPath("$.description").doesNotExist());
+
+        // Fewer entries than the summary holds, so no separate count; then served from the cache
+        String summary = "/api/rooms/" + feedbackRoomId + "/feedback/summary";
+        assertStatements(1, summary)
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.latest[0].feedback").value("Note 3"))
+                .andExpect(jsonPath("$.latest[0].authorName").value("Statement Counter"));
+        assertStatements(0, summary);
+
+        MvcResult first = assertStatements(1, "/api/rooms/" + feedbackRoomId + "/feedback?limit=2")
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andReturn();
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+        assertStatements(1, "/api/rooms/" + feedbackRoomId + "/feedback?limit=2&cursor=" + cursor)
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].feedback").value("Note 1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void seriesUsesTwoStatements() throws Exception {
+        // The series row with its user and room, then its occurrences
+        assertStatements(2, "/api/users/reservations/series/" + seriesId)
+                .andExpect(jsonPath("$.occurrences.length()").value(4));
+    }
+
+    @Test
+    void seriesIsHiddenFromOtherUsers() {
+        User other = new User();
+        other.setName("Series Outsider");
+        other.setEmail("series.outsider@jadeglobal.com");
+        other.setPassword("not-a-real-hash");
+        userRepository.save(other);
+
+        assertThatThrownBy(() -> seriesService.findSeries(seriesId, other.getEmail()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void exportUsesOneStatement() throws Exception {
+        statistics.clear();
+        MvcResult started = mockMvc.perform(authorized(get("/api/admin/reservations/export")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(34));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private ResultActions assertStatements(int expected, String url) throws Exception {
+        statistics.clear();
+        ResultActions result = mockMvc.perform(authorized(get(url))).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements for GET %s", url)
+                .isEqualTo(expected);
+        return result;
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.dto.PageCursor;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.User;
+import com.example.mrbs.service.ReservationService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for each booking query and checks that the
+ * planner picks the index added for it in V2__booking_query_indexes.sql.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_query_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.mrbs.repository.BookingQueryPlanTest$CapturingInspector"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingQueryPlanTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime from = LocalDate.now().plusDays(1).atStartOfDay();
+    private final LocalDateTime to = from.plusDays(7);
+    private Long roomId;
+    private String email;
+
+    @BeforeAll
+    void seed() {
+        User user = new User();
+        user.setName("Plan Checker");
+        user.setEmail("plan.checker@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        email = userRepository.save(user).getEmail();
+
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            MeetingRoom room = new MeetingRoom();
+            room.setName("Plan Room " + i);
+            room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+            room.setCapacity(4 + i);
+            roomIds.add(roomRepository.save(room).getId());
+        }
+        roomId = roomIds.get(0);
+
+        List<ReservationDto> reservations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime slot = from.plusHours(i / 10);
+            reservations.add(new ReservationDto(roomIds.get(i % 10), "Meeting " + i, slot, slot.plusMinutes(30)));
+        }
+        reservationService.createReservations(email, reservations);
+    }
+
+    @Test
+    void overlapQueriesUseStatusRoomTimeIndex() {
+        assertPlans("ix_reservations_status_room_time",
+                () -> reservationRepository.existsOverlappingReservation(roomId, from, to),
+                () -> reservationRepository.existsOverlappingReservationExcludingThis(1L, roomId, from, to),
+                () -> reservationRepository.findConfirmedSlotsOverlapping(List.of(roomId, roomId + 1), from, to),
+                () -> reservationRepository.findConfirmedSlots(),
+                () -> roomRepository.findAvailableRoomsForTimeSlot(from, to));
+    }
+
+    @Test
+    void roomDateRangeUsesRoomTimeIndex() {
+        assertPlans("ix_reservations_room_time",
+                () -> reservationRepository.findByRoomIdAndDateRange(roomId, from, to),
+                () -> reservationRepository.findViewsByRoomIdAndDateRange(roomId, from, to),
+                () -> reservationRepository.findViewPageByRoomIdAndDateRange(roomId, from, to, from, 0L, Limit.of(10)));
+    }
+
+    @Test
+    void seriesOccurrencesUseSeriesIndex() {
+        assertPlans("ix_reservations_series",
+                () -> reservationRepository.findConfirmedViewsBySeriesId(1L),
+                () -> reservationRepository.findBySeriesIdAndStatusAndStartTimeAfterOrderByStartTime(
+                        1L, ReservationStatus.confirmed, from));
+    }
+
+    @Test
+    void roomAndUserSchedulesSeekReservations() {
+        // H2 does not weigh the ORDER BY and settles for the foreign key index here; MySQL takes
+        // ix_reservations_room_time / ix_reservations_user_start to skip the sort
+        assertPlans("_reservations_",
+                () -> reservationRepository.findViewsByRoomId(roomId),
+                () -> reservationRepository.findViewPageByRoomId(roomId, PageCursor.FIRST.startTime(), 0L, Limit.of(10)),
+                () -> reservationRepository.findViewsByUserEmail(email),
+                () -> reservationRepository.findViewPageByUserEmail(email, PageCursor.FIRST.startTime(), 0L, Limit.of(10)));
+    }
+
+    private void assertPlans(String index, Runnable... queries) {
+        for (Runnable query : queries) {
+            CapturingInspector.statements.clear();
+            query.run();
+            assertThat(CapturingInspector.statements).isNotEmpty();
+            for (String sql : CapturingInspector.statements) {
+                assertThat(explain(sql))
+                        .as("EXPLAIN %s", sql)
+                        .contains(index)
+                        .doesNotContain("reservations.tableScan");
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                // The plan does not depend on the bound values
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.example.mrbs.repository;
+
+import com.example.mrbs.dto.BatchReservationResponse;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database left behind by the Hibernate-managed baseline release:
+ * the V1 schema with data and no Flyway history. Flyway must baseline it at version 1 and bring it
+ * up to date with the later migrations alone.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1"
+})
+class LegacySchemaMigrationTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:mrbs_legacy_schema;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final int LEGACY_RESERVATIONS = 3;
+
+    private static final long LAST_LEGACY_ID = 120;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationSeriesRepository seriesRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    // Runs before the context starts, so Flyway sees the database as the baseline release left it
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws Exception {
+        String baseline = new ClassPathResource("db/migration/V1__baseline.sql")
+                .getContentAsString(StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.startsWith("--"))
+                .collect(Collectors.joining("\n"));
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String ddl : baseline.split(";")) {
+                if (!ddl.isBlank()) {
+                    statement.execute(ddl);
+                }
+            }
+            statement.execute("INSERT INTO users (name, email, password_hash, role, created_at) "
+                    + "VALUES ('Legacy User', 'legacy.user@jadeglobal.com', 'not-a-real-hash', 'employee', NOW())");
+            statement.execute("INSERT INTO meeting_rooms (name, location, capacity, availability, description, created_at) "
+                    + "VALUES ('Legacy Room', 'Hyderabad', 6, 'Available', 'Projector on the left', NOW())");
+            // Ids issued by the IDENTITY column, as the baseline release did
+            for (int i = 0; i < LEGACY_RESERVATIONS; i++) {
+                statement.execute("INSERT INTO reservations (user_id, room_id, title, start_time, end_time, status, created_at) "
+                        + "VALUES (1, 1, 'Legacy " + i + "', '" + start.plusHours(i) + "', '"
+                        + start.plusHours(i).plusMinutes(30) + "', 'confirmed', NOW())");
+            }
+            // Far enough past the first pooled block that ids from it would collide
+            statement.execute("INSERT INTO reservations (id, user_id, room_id, title, start_time, end_time, status, created_at) "
+                    + "VALUES (" + LAST_LEGACY_ID + ", 1, 1, 'Legacy last', '" + start.plusDays(1) + "', '"
+                    + start.plusDays(1).plusMinutes(30) + "', 'cancelled', NOW())");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void baselineDatabaseIsMigratedFromVersionOne() {
+        List<String> history = jdbcTemplate.queryForList(
+                "SELECT CONCAT(\"version\", ':', \"type\") FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"",
+                String.class);
+        assertThat(history.get(0)).isEqualTo("1:BASELINE");
+        assertThat(history).contains("1.1:SQL");
+
+        assertThat(seriesRepository.count()).isZero();
+        List<ReservationView> reservations = reservationService.findUserReservations("legacy.user@jadeglobal.com");
+        assertThat(reservations).hasSize(LEGACY_RESERVATIONS + 1)
+                .allSatisfy(reservation -> assertThat(reservation.getSeriesId()).isNull());
+
+        // The room description became the first feedback entry
+        assertThat(jdbcTemplate.queryForObject("SELECT feedback FROM room_feedback", String.class))
+                .isEqualTo("Projector on the left");
+    }
+
+    @Test
+    void newReservationIdsStartAfterTheLegacyOnes() {
+        // More than one pooled block of 50 ids
+        LocalDateTime start = LocalDate.now().plusDays(3).atTime(8, 0);
+        List<ReservationDto> batch = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            LocalDateTime slot = start.plusMinutes(20L * i);
+            batch.add(new ReservationDto(1L, "New " + i, slot, slot.plusMinutes(10)));
+        }
+        BatchReservationResponse response = reservationService.createReservations("legacy.user@jadeglobal.com", batch);
+
+        assertThat(response.getCreated()).isEqualTo(60);
+        assertThat(response.getResults()).allSatisfy(result ->
+                assertThat(result.getReservationId()).isGreaterThan(LAST_LEGACY_ID));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.FreeBusyResponse;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.SlotCandidate;
+import com.example.mrbs.dto.SlotSearchRequest;
+import com.example.mrbs.exception.RoomNotAvailableException;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Multi-node mode: conflicts are decided by the database under a room row lock, so bookings from
+ * another instance, which this node's stripes and overlap index never see, are still rejected,
+ * and availability reads see them too.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_multi_node;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "mrbs.booking.multi-node=true"
+})
+class MultiNodeBookingTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomLockStripes roomLocks;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FreeBusyService freeBusyService;
+
+    @Autowired
+    private SlotSearchService slotSearchService;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Test
+    void bookingsMadeElsewhereAreCheckedInTheDatabase() {
+        User user = saveUser("multi.node@jadeglobal.com");
+        MeetingRoom room = saveRoom("Multi Node Room");
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(10, 0);
+
+        bookElsewhere(user, room, start, start.plusHours(1));
+
+        assertThatThrownBy(() -> reservationService.createReservation(user.getEmail(),
+                new ReservationDto(room.getId(), "Overlapping", start.plusMinutes(30), start.plusMinutes(90))))
+                .isInstanceOf(RoomNotAvailableException.class);
+
+        reservationService.createReservation(user.getEmail(),
+                new ReservationDto(room.getId(), "Later", start.plusHours(2), start.plusHours(3)));
+    }
+
+    @Test
+    void availabilityReadsSeeBookingsMadeElsewhere() {
+        User user = saveUser("multi.node.reader@jadeglobal.com");
+        MeetingRoom room = saveRoom("Multi Node Reader Room");
+        room.setCapacity(77);
+        roomRepository.save(room);
+        roomCatalog.refresh();
+        LocalDateTime day = LocalDate.now().plusDays(2).atStartOfDay();
+        bookElsewhere(user, room, day.plusHours(9), day.plusHours(17));
+
+        FreeBusyResponse freeBusy = freeBusyService.findFreeBusy(List.of(room.getId()), null,
+                day, day.plusDays(1), false);
+        assertThat(freeBusy.getRooms().get(0).getStarts()).containsExactly(9 * 60);
+
+        assertThat(roomService.findAvailableRoomsForTimeSlot(day.plusHours(10), day.plusHours(11)))
+                .extracting(MeetingRoom::getId)
+                .doesNotContain(room.getId());
+        assertThat(roomService.findAvailableRoomsForTimeSlot(day.plusHours(17).plusMinutes(15), day.plusHours(18)))
+                .extracting(MeetingRoom::getId)
+                .contains(room.getId());
+
+        SlotSearchRequest request = new SlotSearchRequest();
+        request.setDurationMinutes(30);
+        request.setMinCapacity(77);
+        request.setFromDate(day);
+        request.setToDate(day.plusDays(1));
+        request.setIncludeWeekends(true);
+        request.setLimit(1);
+        assertThat(slotSearchService.findNextAvailable(request))
+                .extracting(SlotCandidate::getStartTime)
+                .containsExactly(day.plusHours(17).plusMinutes(15));
+    }
+
+    @Test
+    void roomRowLockIsHeldUntilCommit() throws Exception {
+        Long roomId = saveRoom("Locked Room").getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        AtomicLong firstCommittedAt = new AtomicLong();
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            roomLocks.lockRoomRows(List.of(roomId));
+            locked.countDown();
+            sleep(300);
+            firstCommittedAt.set(System.nanoTime());
+        }));
+        assertThat(locked.await(30, TimeUnit.SECONDS)).isTrue();
+
+        // Another node's transaction, which no in-JVM stripe would hold back
+        long secondLockedAt = transactionTemplate.execute(status -> {
+            roomLocks.lockRoomRows(List.of(roomId));
+            return System.nanoTime();
+        });
+        first.get(30, TimeUnit.SECONDS);
+
+        assertThat(secondLockedAt).isGreaterThan(firstCommittedAt.get());
+    }
+
+    // Written straight to the table, as another node would; the local overlap index never hears of it
+    private void bookElsewhere(User user, MeetingRoom room, LocalDateTime start, LocalDateTime end) {
+        Reservation elsewhere = new Reservation();
+        elsewhere.setUser(user);
+        elsewhere.setRoom(room);
+        elsewhere.setTitle("Booked on another node");
+        elsewhere.setStartTime(start);
+        elsewhere.setEndTime(end);
+        elsewhere.setStatus(ReservationStatus.confirmed);
+        reservationRepository.save(elsewhere);
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setName("Multi Node");
+        user.setEmail(email);
+        user.setPassword("not-a-real-hash");
+        return userRepository.save(user);
+    }
+
+    private MeetingRoom saveRoom(String name) {
+        MeetingRoom room = new MeetingRoom();
+        room.setName(name);
+        room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+        room.setCapacity(6);
+        return roomRepository.save(room);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
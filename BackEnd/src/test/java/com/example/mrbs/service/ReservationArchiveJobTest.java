@@ -0,0 +1,113 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.CursorPage;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.ArchivedReservationRepository;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "mrbs.reservation-archive.batch-size=2"
+})
+class ReservationArchiveJobTest {
+
+    @Autowired
+    private ReservationArchiveJob archiveJob;
+
+    @Autowired
+    private ReservationCompletionJob completionJob;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomUsageRollup roomUsageRollup;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archiveRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void movesFinishedReservationsToTheArchiveAndBack() {
+        User user = new User();
+        user.setName("Archive Owner");
+        user.setEmail("archive.owner@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        userRepository.save(user);
+
+        MeetingRoom room = new MeetingRoom();
+        room.setName("Archive Room");
+        room.setLocation(MeetingRoom.RoomLocation.Pune_Baner);
+        room.setCapacity(6);
+        Long roomId = roomRepository.save(room).getId();
+
+        LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+        List<Long> ids = new ArrayList<>();
+        for (int hour = 8; hour < 12; hour++) {
+            ids.add(book(user, roomId, day.plusHours(hour), day.plusHours(hour).plusMinutes(45)));
+        }
+        Long cancelled = book(user, roomId, day.plusHours(12), day.plusHours(12).plusMinutes(30));
+        reservationService.cancelReservation(cancelled, user.getEmail());
+        ids.add(cancelled);
+        Long upcoming = book(user, roomId, day.plusHours(15), day.plusHours(16));
+        ids.add(upcoming);
+        assertThat(completionJob.completeEnded(day.plusHours(13))).isEqualTo(4);
+
+        // Four completed and one cancelled, in chunks of two; the confirmed one stays
+        assertThat(archiveJob.archiveEndedBefore(day.plusHours(13))).isEqualTo(5);
+        assertThat(reservationRepository.findAllById(ids)).extracting(Reservation::getId).containsExactly(upcoming);
+        assertThat(archiveRepository.findAllById(ids)).hasSize(5)
+                .allMatch(archived -> archived.getArchivedAt() != null);
+
+        // History pages through both tables in start order
+        List<ReservationView> history = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ReservationView> page = reservationService.findUserHistory(user.getEmail(), cursor, 2);
+            history.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(history).extracting(ReservationView::getId).containsExactlyElementsOf(ids);
+        assertThat(history.get(4).getStatus()).isEqualTo(ReservationStatus.cancelled);
+        assertThat(reservationService.findHistory(roomId, null, null, null, 10).getItems()).hasSize(6);
+        assertThat(reservationService.findUserReservations(user.getEmail())).hasSize(1);
+
+        // Archived bookings still count in rebuilt rollups
+        assertThat(roomUsageRollup.rebuild().getReservations()).isEqualTo(5);
+
+        assertThat(archiveJob.restore(day.plusHours(9), day.plusHours(11), roomId).getRestored()).isEqualTo(2);
+        assertThat(reservationRepository.findAllById(ids)).hasSize(3);
+        assertThat(archiveRepository.count()).isEqualTo(3);
+        assertThat(reservationService.findUserHistory(user.getEmail(), null, 10).getItems())
+                .extracting(ReservationView::getId).containsExactlyElementsOf(ids);
+    }
+
+    private Long book(User user, Long roomId, LocalDateTime start, LocalDateTime end) {
+        return reservationService.createReservation(user.getEmail(), new ReservationDto(roomId, "Archived", start, end)).getId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.SchedulerLease;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.repository.SchedulerLeaseRepository;
+import com.example.mrbs.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_completion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "mrbs.reservation-completion.batch-size=2"
+})
+class ReservationCompletionJobTest {
+
+    @Autowired
+    private ReservationCompletionJob completionJob;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationOverlapIndex overlapIndex;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void completesEndedReservationsInChunksUnderALease() {
+        User user = new User();
+        user.setName("Completion Owner");
+        user.setEmail("completion.owner@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        userRepository.save(user);
+
+        MeetingRoom room = new MeetingRoom();
+        room.setName("Completion Room");
+        room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+        room.setCapacity(8);
+        Long roomId = roomRepository.save(room).getId();
+
+        LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+        List<Long> morning = new ArrayList<>();
+        for (int hour = 8; hour < 13; hour++) {
+            morning.add(book(user, roomId, day.plusHours(hour), day.plusHours(hour).plusMinutes(45)));
+        }
+        Long cancelled = book(user, roomId, day.plusHours(7), day.plusHours(7).plusMinutes(30));
+        reservationService.cancelReservation(cancelled, user.getEmail());
+        Long afternoon = book(user, roomId, day.plusHours(14), day.plusHours(15));
+
+        // Another node holds the lease
+        leaseRepository.save(new SchedulerLease(ReservationCompletionJob.LEASE, "other-node", LocalDateTime.now().plusHours(1)));
+        assertThat(completionJob.completeEnded(day.plusHours(13))).isEqualTo(-1);
+        leaseRepository.save(new SchedulerLease(ReservationCompletionJob.LEASE, "other-node", LocalDateTime.now().minusMinutes(1)));
+
+        // Five ended reservations in chunks of two
+        assertThat(completionJob.completeEnded(day.plusHours(13))).isEqualTo(5);
+        assertThat(reservationRepository.findAllById(morning)).extracting(Reservation::getStatus)
+                .containsOnly(ReservationStatus.completed);
+        assertThat(status(cancelled)).isEqualTo(ReservationStatus.cancelled);
+        assertThat(status(afternoon)).isEqualTo(ReservationStatus.confirmed);
+        assertThat(overlapIndex.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("mrbs.reservation.completion.chunks").counter().count()).isEqualTo(3);
+
+        assertThat(completionJob.completeEnded(day.plusHours(13))).isZero();
+        assertThat(leaseRepository.findById(ReservationCompletionJob.LEASE).orElseThrow().getLeaseUntil()).isNull();
+    }
+
+    private Long book(User user, Long roomId, LocalDateTime start, LocalDateTime end) {
+        return reservationService.createReservation(user.getEmail(), new ReservationDto(roomId, "Ends", start, end)).getId();
+    }
+
+    private ReservationStatus status(Long id) {
+        return reservationRepository.findById(id).orElseThrow().getStatus();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.exception.RoomNotAvailableException;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.Reservation;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.ReservationRepository;
+import com.example.mrbs.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReservationConcurrencyTest {
+
+    private static final int ROOMS = 4;
+    private static final int BOOKINGS = 4000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReservationIndexVerifier indexVerifier;
+
+    @Autowired
+    private RoomLockStripes roomLocks;
+
+    @Test
+    void parallelBookingsNeverDoubleBookARoom() throws Exception {
+        User user = new User();
+        user.setName("Stress Tester");
+        user.setEmail("stress.tester@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        userRepository.save(user);
+
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            MeetingRoom room = new MeetingRoom();
+            room.setName("Stress Room " + i);
+            room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+            room.setCapacity(8);
+            roomIds.add(roomRepository.save(room).getId());
+        }
+
+        // Few rooms and a narrow window so most requests collide with each other
+        LocalDateTime windowStart = LocalDate.now().plusDays(1).atTime(9, 0);
+        Random random = new Random(42);
+        List<ReservationDto> requests = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = windowStart.plusMinutes(15L * random.nextInt(32));
+            LocalDateTime end = start.plusMinutes(15L * (1 + random.nextInt(4)));
+            requests.add(new ReservationDto(roomIds.get(random.nextInt(ROOMS)), "Standup " + i, start, end));
+        }
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (ReservationDto request : requests) {
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        reservationService.createReservation(user.getEmail(), request);
+                        booked.incrementAndGet();
+                    } catch (RoomNotAvailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(booked.get() + rejected.get()).isEqualTo(BOOKINGS);
+        assertThat(booked.get()).isPositive();
+
+        Map<Long, List<Reservation>> byRoom = reservationRepository.findByStatus(ReservationStatus.confirmed).stream()
+                .collect(Collectors.groupingBy(r -> r.getRoom().getId()));
+        assertThat(byRoom.values().stream().mapToInt(List::size).sum()).isEqualTo(booked.get());
+
+        for (List<Reservation> reservations : byRoom.values()) {
+            reservations.sort(Comparator.comparing(Reservation::getStartTime));
+            for (int i = 1; i < reservations.size(); i++) {
+                // Overlap checks treat touching bounds as a conflict
+                assertThat(reservations.get(i).getStartTime()).isAfter(reservations.get(i - 1).getEndTime());
+            }
+        }
+
+        assertThat(indexVerifier.verify(false).isConsistent()).isTrue();
+        assertThat(roomLocks.getContendedAcquisitions()).isPositive();
+    }
+}
\ No newline at end of file
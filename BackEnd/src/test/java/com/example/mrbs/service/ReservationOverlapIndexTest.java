@@ -0,0 +1,99 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.event.ReservationChangedEvent;
+import com.example.mrbs.event.ReservationChangedEvent.ReservationState;
+import com.example.mrbs.model.Reservation.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationOverlapIndexTest {
+
+    private static final Long ROOM = 1L;
+    private static final Long OTHER_ROOM = 2L;
+
+    private final ReservationOverlapIndex index = new ReservationOverlapIndex();
+
+    private final LocalDateTime day = LocalDate.of(2030, 3, 4).atStartOfDay();
+
+    @Test
+    void touchingIntervalsConflict() {
+        index.apply(1L, confirmed(ROOM, day.plusHours(10), day.plusHours(11)));
+
+        assertThat(index.overlaps(ROOM, day.plusHours(11), day.plusHours(12))).isTrue();
+        assertThat(index.overlaps(ROOM, day.plusHours(9), day.plusHours(10))).isTrue();
+        assertThat(index.overlaps(ROOM, day.plusHours(10).plusMinutes(15), day.plusHours(10).plusMinutes(30))).isTrue();
+        assertThat(index.overlaps(ROOM, day.plusHours(11).plusMinutes(1), day.plusHours(12))).isFalse();
+        assertThat(index.overlaps(ROOM, day.plusHours(9), day.plusHours(9).plusMinutes(59))).isFalse();
+        assertThat(index.overlaps(OTHER_ROOM, day.plusHours(10), day.plusHours(11))).isFalse();
+    }
+
+    @Test
+    void longBookingIsFoundBehindLaterShortOnes() {
+        index.apply(1L, confirmed(ROOM, day.plusHours(8), day.plusDays(2).plusHours(18)));
+        index.apply(2L, confirmed(ROOM, day.plusHours(9), day.plusHours(9).plusMinutes(30)));
+        index.apply(3L, confirmed(ROOM, day.plusDays(1).plusHours(12), day.plusDays(1).plusHours(12).plusMinutes(30)));
+        index.apply(4L, confirmed(ROOM, day.plusDays(2).plusHours(16), day.plusDays(2).plusHours(16).plusMinutes(30)));
+
+        // Every later short booking ends before the query starts; only the long one covers it
+        assertThat(index.overlaps(ROOM, day.plusDays(2).plusHours(17), day.plusDays(2).plusHours(17).plusMinutes(30)))
+                .isTrue();
+        assertThat(index.overlaps(ROOM, day.plusDays(2).plusHours(18).plusMinutes(1), day.plusDays(2).plusHours(19)))
+                .isFalse();
+        assertThat(index.schedule(ROOM, day.plusDays(2).plusHours(17), day.plusDays(2).plusHours(18)).intervals())
+                .extracting(ReservationOverlapIndex.Interval::reservationId)
+                .containsExactly(1L);
+
+        index.apply(1L, null);
+        assertThat(index.overlaps(ROOM, day.plusDays(2).plusHours(17), day.plusDays(2).plusHours(17).plusMinutes(30)))
+                .isFalse();
+    }
+
+    @Test
+    void excludedReservationDoesNotConflictWithItself() {
+        index.apply(1L, confirmed(ROOM, day.plusHours(10), day.plusHours(11)));
+
+        assertThat(index.overlaps(ROOM, day.plusHours(10), day.plusHours(11), 1L)).isFalse();
+        assertThat(index.overlaps(ROOM, day.plusHours(10), day.plusHours(11), 2L)).isTrue();
+
+        index.apply(2L, confirmed(ROOM, day.plusHours(11), day.plusHours(12)));
+        assertThat(index.overlaps(ROOM, day.plusHours(10), day.plusHours(11), 1L)).isTrue();
+        assertThat(index.overlaps(ROOM, day.plusHours(10), day.plusHours(10).plusMinutes(59), 1L)).isFalse();
+    }
+
+    @Test
+    void changeEventsMoveAndDropReservations() {
+        ReservationState booked = confirmed(ROOM, day.plusHours(10), day.plusHours(11));
+        index.onReservationChanged(new ReservationChangedEvent(1L, null, booked));
+        assertThat(index.overlaps(ROOM, day.plusHours(10), day.plusHours(11))).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+
+        ReservationState moved = confirmed(OTHER_ROOM, day.plusHours(14), day.plusHours(15));
+        index.onReservationChanged(new ReservationChangedEvent(1L, booked, moved));
+        assertThat(index.overlaps(ROOM, day.plusHours(10), day.plusHours(11))).isFalse();
+        assertThat(index.overlaps(OTHER_ROOM, day.plusHours(10), day.plusHours(11))).isFalse();
+        assertThat(index.overlaps(OTHER_ROOM, day.plusHours(14), day.plusHours(15))).isTrue();
+
+        ReservationState cancelled = new ReservationState(OTHER_ROOM, moved.startTime(), moved.endTime(),
+                ReservationStatus.cancelled);
+        index.onReservationChanged(new ReservationChangedEvent(1L, moved, cancelled));
+        assertThat(index.overlaps(OTHER_ROOM, day.plusHours(14), day.plusHours(15))).isFalse();
+        assertThat(index.size()).isZero();
+
+        index.onReservationChanged(new ReservationChangedEvent(1L, cancelled, moved));
+        assertThat(index.overlaps(OTHER_ROOM, day.plusHours(14), day.plusHours(15))).isTrue();
+
+        ReservationState completed = new ReservationState(OTHER_ROOM, moved.startTime(), moved.endTime(),
+                ReservationStatus.completed);
+        index.onReservationChanged(new ReservationChangedEvent(1L, moved, completed));
+        assertThat(index.overlaps(OTHER_ROOM, day.plusHours(14), day.plusHours(15))).isFalse();
+        assertThat(index.snapshot()).isEmpty();
+    }
+
+    private static ReservationState confirmed(Long roomId, LocalDateTime start, LocalDateTime end) {
+        return new ReservationState(roomId, start, end, ReservationStatus.confirmed);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The slot grid must answer exactly what the SQL availability query answers, including on the
+ * edge slots it has to confirm against the overlap index.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mrbs_availability_grid;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "mrbs.availability.engine=grid",
+        "mrbs.availability.fork-threshold-days=2"})
+class RoomAvailabilityGridTest {
+
+    @Autowired
+    private RoomAvailabilityGrid availabilityGrid;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void gridAgreesWithTheSqlQuery() {
+        User user = new User();
+        user.setName("Grid Checker");
+        user.setEmail("grid.checker@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        userRepository.save(user);
+
+        Long hourly = room("Grid Room Hourly");
+        Long lateNight = room("Grid Room Late Night");
+        Long offSlot = room("Grid Room Off Slot");
+        Long multiDay = room("Grid Room Multi Day");
+        Long nextWeek = room("Grid Room Next Week");
+        room("Grid Room Empty");
+        roomCatalog.refresh();
+
+        LocalDateTime day = LocalDate.now().plusDays(2).atStartOfDay();
+        book(user, hourly, day.plusHours(10), day.plusHours(11));
+        book(user, lateNight, day.plusHours(23).plusMinutes(30), day.plusDays(1).plusMinutes(30));
+        book(user, offSlot, day.plusHours(10).plusMinutes(7), day.plusHours(10).plusMinutes(52));
+        book(user, multiDay, day.plusDays(2).plusHours(22), day.plusDays(4).plusHours(2));
+        book(user, nextWeek, day.plusDays(9).plusHours(14), day.plusDays(9).plusHours(15));
+
+        assertThat(availabilityGrid.isReady()).isTrue();
+
+        // Touching bounds
+        assertSameRooms(day.plusHours(11), day.plusHours(12));
+        assertSameRooms(day.plusHours(9), day.plusHours(10));
+        assertSameRooms(day.plusHours(11).plusMinutes(1), day.plusHours(12));
+        assertSameRooms(day.plusHours(10).plusMinutes(52), day.plusHours(11));
+
+        // Start and end inside a slot
+        assertSameRooms(day.plusHours(10), day.plusHours(10).plusMinutes(7));
+        assertSameRooms(day.plusHours(10).plusMinutes(1), day.plusHours(10).plusMinutes(6));
+        assertSameRooms(day.plusHours(10).plusMinutes(53), day.plusHours(11).plusMinutes(7));
+        assertSameRooms(day.plusHours(9).plusMinutes(55), day.plusHours(10).plusMinutes(8));
+
+        // Across midnight
+        assertSameRooms(day.plusHours(23), day.plusDays(1).plusHours(1));
+        assertSameRooms(day.plusHours(23).plusMinutes(45), day.plusHours(23).plusMinutes(59));
+        assertSameRooms(day.plusDays(1).plusMinutes(30), day.plusDays(1).plusHours(1));
+        assertSameRooms(day.plusDays(1).plusMinutes(31), day.plusDays(1).plusHours(2));
+
+        // Several days, two of them below the fork threshold and the rest above it
+        assertSameRooms(day.plusHours(12), day.plusDays(1).plusHours(12));
+        assertSameRooms(day.plusDays(3), day.plusDays(3).plusHours(23).plusMinutes(59));
+        assertSameRooms(day.plusDays(4).plusHours(2), day.plusDays(6));
+        assertSameRooms(day.plusDays(4).plusHours(2).plusMinutes(1), day.plusDays(6));
+        assertSameRooms(day.plusDays(5), day.plusDays(12));
+        assertSameRooms(day.plusDays(9).plusHours(15), day.plusDays(14));
+        assertSameRooms(day.minusDays(1), day.plusDays(20));
+    }
+
+    private void assertSameRooms(LocalDateTime start, LocalDateTime end) {
+        List<Long> expected = roomIds(roomRepository.findAvailableRoomsForTimeSlot(start, end));
+        assertThat(roomIds(availabilityGrid.findAvailableRooms(roomCatalog.all(), start, end)))
+                .as("grid between %s and %s", start, end)
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(roomIds(roomService.findAvailableRoomsForTimeSlot(start, end)))
+                .as("engine=grid between %s and %s", start, end)
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private static List<Long> roomIds(List<MeetingRoom> rooms) {
+        return rooms.stream().map(MeetingRoom::getId).toList();
+    }
+
+    private Long room(String name) {
+        MeetingRoom room = new MeetingRoom();
+        room.setName(name);
+        room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+        room.setCapacity(8);
+        return roomRepository.save(room).getId();
+    }
+
+    private void book(User user, Long roomId, LocalDateTime start, LocalDateTime end) {
+        reservationService.createReservation(user.getEmail(), new ReservationDto(roomId, "Busy", start, end));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.HourOfDayUtilization;
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.ReservationView;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.RoomUsageDaily;
+import com.example.mrbs.model.RoomUsageHourly;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.RoomUsageDailyRepository;
+import com.example.mrbs.repository.RoomUsageHourlyRepository;
+import com.example.mrbs.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:mrbs_room_usage;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class RoomUsageRollupTest {
+
+    @Autowired
+    private RoomUsageRollup roomUsageRollup;
+
+    @Autowired
+    private UtilizationService utilizationService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomUsageHourlyRepository hourlyRepository;
+
+    @Autowired
+    private RoomUsageDailyRepository dailyRepository;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingRoomService roomService;
+
+    @Test
+    void incrementalRollupsMatchARebuild() {
+        User user = new User();
+        user.setName("Usage Owner");
+        user.setEmail("usage.owner@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        userRepository.save(user);
+
+        MeetingRoom room = new MeetingRoom();
+        room.setName("Usage Room");
+        room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+        room.setCapacity(8);
+        Long roomId = roomRepository.save(room).getId();
+
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalDateTime day = date.atStartOfDay();
+        ReservationView moved = book(user, roomId, day.plusHours(9), day.plusHours(10));
+        ReservationView cancelled = book(user, roomId, day.plusHours(13), day.plusHours(14));
+        ReservationView completed = book(user, roomId, day.plusHours(15), day.plusHours(16));
+
+        reservationService.updateReservation(moved.getId(), user.getEmail(),
+                new ReservationDto(roomId, "Moved", day.plusHours(9).plusMinutes(30), day.plusHours(11).plusMinutes(15)));
+        reservationService.cancelReservation(cancelled.getId(), user.getEmail());
+        reservationService.updateReservationStatus(completed.getId(), "completed");
+
+        // A booking counts in the hour it starts; its minutes go to every hour it covers
+        List<HourOfDayUtilization> hours = utilizationService.findHourOfDayUtilization(date, date, null);
+        assertThat(hours)
+                .filteredOn(hour -> hour.getBookedMinutes() > 0)
+                .extracting(HourOfDayUtilization::getHour, HourOfDayUtilization::getBookedMinutes,
+                        HourOfDayUtilization::getBookings)
+                .containsExactly(tuple(9, 30L, 1L), tuple(10, 60L, 0L), tuple(11, 15L, 0L), tuple(15, 60L, 1L));
+
+        List<Object> hourly = hourlyRows();
+        List<Object> daily = dailyRows();
+        roomUsageRollup.rebuild();
+        assertThat(hourlyRows()).isEqualTo(hourly);
+        assertThat(dailyRows()).isEqualTo(daily);
+        assertThat(daily).containsExactly(tuple(roomId, date, 165L, 2));
+    }
+
+    @Test
+    void deletingARoomRemovesItsRollups() {
+        MeetingRoom room = new MeetingRoom();
+        room.setName("Short-lived Room");
+        room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+        room.setCapacity(4);
+        Long roomId = roomRepository.save(room).getId();
+
+        // Zero rows like the ones a cancellation leaves behind
+        LocalDate date = LocalDate.now().plusDays(2);
+        hourlyRepository.save(new RoomUsageHourly(roomId, date.atTime(9, 0), 0, 0));
+        dailyRepository.save(new RoomUsageDaily(roomId, date, 0, 0));
+
+        roomService.deleteRoom(roomId);
+
+        assertThat(roomRepository.existsById(roomId)).isFalse();
+        assertThat(hourlyRepository.findAll()).noneMatch(row -> row.getRoomId().equals(roomId));
+        assertThat(dailyRepository.findAll()).noneMatch(row -> row.getRoomId().equals(roomId));
+    }
+
+    private ReservationView book(User user, Long roomId, LocalDateTime start, LocalDateTime end) {
+        return reservationService.createReservation(user.getEmail(), new ReservationDto(roomId, "Usage", start, end));
+    }
+
+    // Buckets emptied by a cancellation stay behind as zero rows until the next rebuild
+    private List<Object> hourlyRows() {
+        return hourlyRepository.findAll().stream()
+                .filter(row -> row.getBookedMinutes() != 0 || row.getBookings() != 0)
+                .sorted((a, b) -> a.getBucketStart().compareTo(b.getBucketStart()))
+                .map(row -> (Object) tuple(row.getRoomId(), row.getBucketStart(), row.getBookedMinutes(), row.getBookings()))
+                .toList();
+    }
+
+    private List<Object> dailyRows() {
+        return dailyRepository.findAll().stream()
+                .filter(row -> row.getBookedMinutes() != 0 || row.getBookings() != 0)
+                .map(row -> (Object) tuple(row.getRoomId(), row.getBucketDate(), row.getBookedMinutes(), row.getBookings()))
+                .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.mrbs.service;
+
+import com.example.mrbs.dto.ReservationDto;
+import com.example.mrbs.dto.SlotCandidate;
+import com.example.mrbs.dto.SlotSearchRequest;
+import com.example.mrbs.model.MeetingRoom;
+import com.example.mrbs.model.User;
+import com.example.mrbs.repository.MeetingRoomRepository;
+import com.example.mrbs.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:mrbs_slot_search;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class SlotSearchServiceTest {
+
+    @Autowired
+    private SlotSearchService slotSearchService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private MeetingRoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void findsTheEarliestGapsAcrossRooms() {
+        User user = new User();
+        user.setName("Slot Seeker");
+        user.setEmail("slot.seeker@jadeglobal.com");
+        user.setPassword("not-a-real-hash");
+        userRepository.save(user);
+
+        Long roomA = room("Slot Room A", 50);
+        Long roomB = room("Slot Room B", 50);
+        room("Slot Room Small", 10);
+
+        LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+        book(user, roomA, day.plusHours(9), day.plusHours(10));
+        book(user, roomA, day.plusHours(14), day.plusHours(15));
+        book(user, roomB, day.plusHours(9), day.plusHours(12));
+
+        SlotSearchRequest request = new SlotSearchRequest();
+        request.setDurationMinutes(60);
+        request.setMinCapacity(50);
+        request.setFromDate(day);
+        request.setToDate(day.plusDays(1));
+        request.setIncludeWeekends(true);
+        request.setLimit(10);
+
+        // Touching bounds conflict, so each gap opens one step after the previous meeting ends
+        List<SlotCandidate> candidates = slotSearchService.findNextAvailable(request);
+        assertThat(candidates)
+                .extracting(candidate -> candidate.getRoom().getId(), SlotCandidate::getStartTime)
+                .containsExactly(
+                        tuple(roomA, day.plusHours(10).plusMinutes(15)),
+                        tuple(roomB, day.plusHours(12).plusMinutes(15)),
+                        tuple(roomA, day.plusHours(15).plusMinutes(15)));
+
+        // The first candidate really is bookable
+        SlotCandidate first = candidates.get(0);
+        book(user, first.getRoom().getId(), first.getStartTime(), first.getEndTime());
+    }
+
+    private Long room(String name, int capacity) {
+        MeetingRoom room = new MeetingRoom();
+        room.setName(name);
+        room.setLocation(MeetingRoom.RoomLocation.Hyderabad);
+        room.setCapacity(capacity);
+        return roomRepository.save(room).getId();
+    }
+
+    private void book(User user, Long roomId, LocalDateTime start, LocalDateTime end) {
+        reservationService.createReservation(user.getEmail(), new ReservationDto(roomId, "Busy", start, end));
+    }
+}
\ No newline at end of file
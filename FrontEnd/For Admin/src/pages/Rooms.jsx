@@ -1,9 +1,10 @@
 import { useState, useEffect } from 'react';
-import { getRooms, createRoom, updateRoom } from '../services/api';
+import { getRooms, createRoom, updateRoom, getRoomFeedbackSummary } from '../services/api';
 import { toast } from 'react-hot-toast';
 
 function Rooms() {
     const [rooms, setRooms] = useState([]);
+    const [feedbackSummaries, setFeedbackSummaries] = useState({});
     const [loading, setLoading] = useState(true);
     const [isEditing, setIsEditing] = useState(false);
     const [formData, setFormData] = useState({
@@ -11,7 +12,7 @@ function Rooms() {
         location: '',
         capacity: '',
         availability: true,
-        description: '',
+        feedback: '',
         imageURL: ''
     });
 
@@ -23,6 +24,7 @@ function Rooms() {
         try {
             const response = await getRooms();
             setRooms(response.data);
+            fetchFeedbackSummaries(response.data);
         } catch (error) {
             toast.error('Failed to fetch rooms');
         } finally {
@@ -30,6 +32,18 @@ function Rooms() {
         }
     };
 
+    // Room notes live in the feedback log; show the latest entry per room
+    const fetchFeedbackSummaries = async (rooms) => {
+        const results = await Promise.allSettled(rooms.map(room => getRoomFeedbackSummary(room.id)));
+        const summaries = {};
+        results.forEach((result, index) => {
+            if (result.status === 'fulfilled') {
+                summaries[rooms[index].id] = result.value.data;
+            }
+        });
+        setFeedbackSummaries(summaries);
+    };
+
     const handleSubmit = async (e) => {
         e.preventDefault();
         try {
@@ -53,7 +67,7 @@ function Rooms() {
             location: '',
             capacity: '',
             availability: true,
-            description: '',
+            feedback: '',
             imageURL: ''
         });
         setIsEditing(false);
@@ -114,12 +128,12 @@ function Rooms() {
                             </div>
 
                             <div className="mb-4">
-                                <label className="block text-sm font-medium text-gray-700 mb-1">Description</label>
+                                <label className="block text-sm font-medium text-gray-700 mb-1">Note</label>
                                 <textarea
-                                    placeholder="Room details and features"
+                                    placeholder={isEditing ? 'Add a note to this room\'s feedback log' : 'Room details and features'}
                                     className="w-full p-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-blue-500 transition-all duration-200 min-h-24"
-                                    value={formData.description}
-                                    onChange={(e) => setFormData({ ...formData, description: e.target.value })}
+                                    value={formData.feedback}
+                                    onChange={(e) => setFormData({ ...formData, feedback: e.target.value })}
                                 />
                             </div>
 
@@ -230,7 +244,7 @@ function Rooms() {
 
                                                     <button
                                                         onClick={() => {
-                                                            setFormData(room);
+                                                            setFormData({ ...room, feedback: '' });
                                                             setIsEditing(true);
                                                             // Scroll to form
                                                             window.scrollTo({ top: 0, behavior: 'smooth' });
@@ -245,12 +259,17 @@ function Rooms() {
                                                 </div>
                                             </div>
 
-                                            {room.description && (
+                                            {feedbackSummaries[room.id]?.latest?.length > 0 && (
                                                 <div className="mt-3 text-sm text-gray-600 border-t border-gray-200 pt-3">
-                                                    {room.description.length > 100
-                                                        ? `${room.description.substring(0, 100)}...`
-                                                        : room.description
+                                                    {feedbackSummaries[room.id].latest[0].feedback.length > 100
+                                                        ? `${feedbackSummaries[room.id].latest[0].feedback.substring(0, 100)}...`
+                                                        : feedbackSummaries[room.id].latest[0].feedback
                                                     }
+                                                    {feedbackSummaries[room.id].count > 1 && (
+                                                        <span className="ml-1 text-gray-400">
+                                                            (+{feedbackSummaries[room.id].count - 1} more)
+                                                        </span>
+                                                    )}
                                                 </div>
                                             )}
                                         </div>
@@ -20,6 +20,7 @@ export const deleteUser = (userId) => api.delete(`/admin/users/${userId}`);
 export const getRooms = () => api.get('/admin/rooms');
 export const createRoom = (roomData) => api.post('/admin/rooms', roomData);
 export const updateRoom = (roomId, roomData) => api.put(`/admin/rooms/${roomId}`, roomData);
+export const getRoomFeedbackSummary = (roomId) => api.get(`/rooms/${roomId}/feedback/summary`);
 
 export const getReservations = () => api.get('/admin/reservations');
 export const getRoomReservations = (roomId) => api.get(`/admin/reservations/rooms/${roomId}`);